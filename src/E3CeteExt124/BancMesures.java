@@ -0,0 +1,375 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * La classe BancMesures mesure les performances des opérations les plus utilisées du jeu :
+ * Carte.compareTo, Jeu.estUnE3C, la recherche d'E3C sur des tables de 3x3 à 10x15,
+ * les tris de Paquet (selon la taille et l'ordre initial du paquet), Paquet.melanger et Paquet.piocher.
+ *
+ * Chaque mesure est lancée dans plusieurs JVM séparées ("forks") pour ne pas dépendre des optimisations
+ * faites par le JIT pour les mesures précédentes. Dans chaque JVM, on fait d'abord des itérations d'échauffement
+ * (ignorées), puis des itérations de mesure d'une durée fixée. Une itération répète l'opération par lots
+ * et renvoie le temps moyen d'une opération en nanosecondes.
+ *
+ * Les résultats sont affichés et écrits dans un fichier CSV (une ligne par mesure) que l'on peut comparer
+ * d'une version à l'autre.
+ *
+ * Usage : java BancMesures [-f forks] [-e echauffements] [-i iterations] [-d dureeMs] [-o fichier.csv] [filtre]
+ * Seules les mesures dont le nom contient "filtre" sont lancées. Avec -f 0, tout est mesuré dans la JVM courante.
+ */
+public class BancMesures {
+
+    /**
+     * Opération mesurée. Le résultat est accumulé dans "puits" pour que le JIT ne puisse pas supprimer le calcul.
+     */
+    private interface Operation {
+        long executer();
+    }
+
+    private static final String[] TABLES = {"3x3", "3x4", "4x4", "5x5", "6x6", "10x15"};
+    private static final String[] TAILLES_PAQUETS = {"16", "81", "1024"};
+    private static final String[] ORDRES = {"melange", "trie", "presque_trie", "inverse"};
+    private static final String[] TRIS = {"selection", "bulles", "insertion", "comptage", "radix", "parallele"};
+    private static final long GRAINE = 42;
+
+    private static volatile long puits;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--enfant")) {
+            mesurerDansCetteJVM(args[1], args[2], Integer.parseInt(args[3]), Integer.parseInt(args[4]),
+                    Integer.parseInt(args[5]));
+            return;
+        }
+        int forks = 2;
+        int echauffements = 5;
+        int iterations = 5;
+        int dureeMs = 200;
+        String fichier = "bancs.csv";
+        String filtre = "";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-f": forks = Integer.parseInt(args[++i]); break;
+                case "-e": echauffements = Integer.parseInt(args[++i]); break;
+                case "-i": iterations = Integer.parseInt(args[++i]); break;
+                case "-d": dureeMs = Integer.parseInt(args[++i]); break;
+                case "-o": fichier = args[++i]; break;
+                default: filtre = args[i];
+            }
+        }
+
+        try (PrintWriter sortie = new PrintWriter(fichier, "UTF-8")) {
+            sortie.println("mesure,parametre,forks,iterations,moyenne_ns_op,ecart_type_ns_op,min_ns_op,max_ns_op");
+            for (String[] mesure : getMesures()) {
+                if (!mesure[0].contains(filtre)) {
+                    continue;
+                }
+                List<Double> resultats = new ArrayList<>();
+                if (forks == 0) {
+                    resultats.addAll(mesurer(mesure[0], mesure[1], echauffements, iterations, dureeMs));
+                }
+                for (int f = 0; f < forks; f++) {
+                    resultats.addAll(mesurerDansUnFork(mesure[0], mesure[1], echauffements, iterations, dureeMs));
+                }
+                String ligne = resumer(mesure[0], mesure[1], Math.max(forks, 1), resultats);
+                sortie.println(ligne);
+                sortie.flush();
+                System.out.println(ligne);
+            }
+        }
+        System.out.println("Résultats écrits dans " + fichier);
+    }
+
+    /**
+     * Résultat : La liste des mesures disponibles, sous la forme {nom, parametre}.
+     */
+
+    private static List<String[]> getMesures() {
+        List<String[]> mesures = new ArrayList<>();
+        mesures.add(new String[] {"Carte.compareTo", "-"});
+        mesures.add(new String[] {"Jeu.estUnE3C(Carte[])", "-"});
+        mesures.add(new String[] {"Jeu.estUnE3C(int,int,int)", "-"});
+        for (String table : TABLES) {
+            mesures.add(new String[] {"Jeu.chercherE3CSurTableOrdinateur", table});
+            mesures.add(new String[] {"Jeu.chercherE3CSurTableExhaustive", table});
+        }
+        for (String tri : TRIS) {
+            for (String taille : TAILLES_PAQUETS) {
+                for (String ordre : ORDRES) {
+                    mesures.add(new String[] {"Paquet.trier-" + tri, taille + "-" + ordre});
+                }
+            }
+        }
+        mesures.add(new String[] {"Paquet.melanger", "81"});
+        mesures.add(new String[] {"Paquet.piocher", "81"});
+        // sabot de 10 000 jeux (810 000 cartes d'un octet) : mélange complet puis pioche de toutes les cartes
+        mesures.add(new String[] {"Paquet.sabot", "10000"});
+        // construction d'un paquet puis pioche d'une table de 12 cartes, mélange immédiat ou à la pioche
+        mesures.add(new String[] {"Paquet.nouveauPiocher12", "immediat"});
+        mesures.add(new String[] {"Paquet.nouveauPiocher12", "pioche"});
+        return mesures;
+    }
+
+    /**
+     * Action : Lance la mesure dans une nouvelle JVM (même classpath) et lit ses résultats.
+     * Résultat : Le temps moyen d'une opération (ns) pour chaque itération de mesure.
+     */
+
+    private static List<Double> mesurerDansUnFork(String nom, String parametre, int echauffements, int iterations,
+                                                  int dureeMs) throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder constructeur = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "BancMesures", "--enfant", nom, parametre, "" + echauffements, "" + iterations, "" + dureeMs);
+        constructeur.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process processus = constructeur.start();
+        List<Double> resultats = new ArrayList<>();
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(processus.getInputStream()))) {
+            String ligne;
+            while ((ligne = lecteur.readLine()) != null) {
+                resultats.add(Double.parseDouble(ligne));
+            }
+        }
+        if (processus.waitFor() != 0) {
+            throw new IllegalStateException("La mesure " + nom + " " + parametre + " a échoué");
+        }
+        return resultats;
+    }
+
+    /**
+     * Action : Fait la mesure dans la JVM courante et affiche le résultat de chaque itération de mesure
+     * (une ligne par itération) pour la JVM parente.
+     */
+
+    private static void mesurerDansCetteJVM(String nom, String parametre, int echauffements, int iterations,
+                                            int dureeMs) {
+        for (double resultat : mesurer(nom, parametre, echauffements, iterations, dureeMs)) {
+            System.out.println(resultat);
+        }
+    }
+
+    /**
+     * Résultat : Le temps moyen d'une opération (ns) pour chaque itération de mesure (les échauffements sont ignorés).
+     */
+
+    private static List<Double> mesurer(String nom, String parametre, int echauffements, int iterations, int dureeMs) {
+        Operation operation = preparer(nom, parametre);
+        long lot = 1;
+        long debut = System.nanoTime();
+        for (long i = 0; i < lot; i++) {
+            puits += operation.executer();
+        }
+        while (System.nanoTime() - debut < 100_000) {
+            lot *= 2;
+            debut = System.nanoTime();
+            for (long i = 0; i < lot; i++) {
+                puits += operation.executer();
+            }
+        }
+
+        List<Double> resultats = new ArrayList<>();
+        for (int iteration = 0; iteration < echauffements + iterations; iteration++) {
+            long nbOperations = 0;
+            long fin = System.nanoTime() + dureeMs * 1_000_000L;
+            long maintenant;
+            debut = System.nanoTime();
+            do {
+                for (long i = 0; i < lot; i++) {
+                    puits += operation.executer();
+                }
+                nbOperations += lot;
+                maintenant = System.nanoTime();
+            } while (maintenant < fin);
+            if (iteration >= echauffements) {
+                resultats.add((double) (maintenant - debut) / nbOperations);
+            }
+        }
+        return resultats;
+    }
+
+    /**
+     * Résultat : La ligne CSV résumant les résultats d'une mesure.
+     */
+
+    private static String resumer(String nom, String parametre, int forks, List<Double> resultats) {
+        double somme = 0;
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (double resultat : resultats) {
+            somme += resultat;
+            min = Math.min(min, resultat);
+            max = Math.max(max, resultat);
+        }
+        double moyenne = somme / resultats.size();
+        double variance = 0;
+        for (double resultat : resultats) {
+            variance += (resultat - moyenne) * (resultat - moyenne);
+        }
+        double ecartType = resultats.size() > 1 ? Math.sqrt(variance / (resultats.size() - 1)) : 0;
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f", nom, parametre, forks,
+                resultats.size() / forks, moyenne, ecartType, min, max);
+    }
+
+    /**
+     * Résultat : L'opération à mesurer, dont les données sont préparées (avec une graine fixe) avant la mesure.
+     */
+
+    private static Operation preparer(String nom, String parametre) {
+        Random aleatoire = new Random(GRAINE);
+        if (nom.equals("Carte.compareTo")) {
+            Carte[] cartes = cartesAleatoires(aleatoire, 1025);
+            int[] indice = {0};
+            return () -> {
+                int i = indice[0] = (indice[0] + 1) & 1023;
+                return cartes[i].compareTo(cartes[i + 1]);
+            };
+        }
+        if (nom.startsWith("Jeu.estUnE3C")) {
+            Carte[][] triplets = new Carte[1024][];
+            int[] codes = new int[3 * 1024];
+            for (int i = 0; i < triplets.length; i++) {
+                Carte[] triplet = cartesAleatoires(aleatoire, 3);
+                if (aleatoire.nextBoolean()) {
+                    triplet[2] = Carte.getCarte(Jeu.getTroisiemeCarte(triplet[0].getCode(), triplet[1].getCode()));
+                }
+                triplets[i] = triplet;
+                for (int j = 0; j < 3; j++) {
+                    codes[3 * i + j] = triplet[j].getCode();
+                }
+            }
+            int[] indice = {0};
+            if (nom.equals("Jeu.estUnE3C(Carte[])")) {
+                return () -> Jeu.estUnE3C(triplets[indice[0] = (indice[0] + 1) & 1023]) ? 1 : 0;
+            }
+            return () -> {
+                int i = 3 * (indice[0] = (indice[0] + 1) & 1023);
+                return Jeu.estUnE3C(codes[i], codes[i + 1], codes[i + 2]) ? 1 : 0;
+            };
+        }
+        if (nom.startsWith("Jeu.chercherE3C")) {
+            String[] dimensions = parametre.split("x");
+            Jeu[] jeux = new Jeu[64];
+            for (int i = 0; i < jeux.length; i++) {
+                jeux[i] = new Jeu(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), GRAINE + i);
+            }
+            int[] indice = {0};
+            boolean exhaustive = nom.equals("Jeu.chercherE3CSurTableExhaustive");
+            return () -> {
+                Jeu jeu = jeux[indice[0] = (indice[0] + 1) & 63];
+                int[] e3c = exhaustive ? jeu.chercherE3CSurTableExhaustive() : jeu.chercherE3CSurTableOrdinateur();
+                return e3c == null ? 0 : e3c[0];
+            };
+        }
+        if (nom.startsWith("Paquet.trier-")) {
+            String[] parametres = parametre.split("-", 2);
+            Paquet paquet = paquetOrdonne(aleatoire, Integer.parseInt(parametres[0]), parametres[1]);
+            switch (nom.substring("Paquet.trier-".length())) {
+                case "selection": return () -> paquet.trierSelection().getNbCartes();
+                case "bulles": return () -> paquet.trierBulles().getNbCartes();
+                case "insertion": return () -> paquet.trierInsertion().getNbCartes();
+                case "comptage": return () -> paquet.trierComptage().getNbCartes();
+                case "radix": return () -> paquet.trierRadix().getNbCartes();
+                default: return () -> paquet.trierParallele().getNbCartes();
+            }
+        }
+        if (nom.equals("Paquet.nouveauPiocher12")) {
+            SplittableRandom generateur = new SplittableRandom(GRAINE);
+            boolean melangeALaPioche = parametre.equals("pioche");
+            Carte[] table = new Carte[12];
+            return () -> {
+                Paquet nouveau = new Paquet(Couleur.values(), 3, Figure.values(), Texture.values(), generateur,
+                        melangeALaPioche);
+                nouveau.piocher(table, 0, table.length);
+                return table[0].getCode();
+            };
+        }
+        if (nom.equals("Paquet.sabot")) {
+            Paquet sabot = new Paquet(Couleur.values(), 3, Figure.values(), Texture.values(),
+                    Integer.parseInt(parametre), new SplittableRandom(GRAINE), false);
+            int[] codes = new int[4096];
+            return () -> {
+                Paquet copie = new Paquet(sabot);
+                copie.melanger();
+                long somme = 0;
+                int nbPiochees;
+                while ((nbPiochees = copie.piocherCodes(codes, 0, codes.length)) > 0) {
+                    for (int i = 0; i < nbPiochees; i++) {
+                        somme += codes[i];
+                    }
+                }
+                return somme;
+            };
+        }
+        Paquet paquet = new Paquet(Couleur.values(), 3, Figure.values(), Texture.values(),
+                new SplittableRandom(GRAINE));
+        if (nom.equals("Paquet.melanger")) {
+            return () -> {
+                paquet.melanger();
+                return paquet.getNbCartes();
+            };
+        }
+        if (nom.equals("Paquet.piocher")) {
+            return () -> {
+                Paquet copie = new Paquet(paquet);
+                long somme = 0;
+                while (!copie.estVide()) {
+                    somme += copie.piocher(1)[0].getCode();
+                }
+                return somme;
+            };
+        }
+        throw new IllegalArgumentException("Mesure inconnue : " + nom);
+    }
+
+    /**
+     * Résultat : n cartes de l'espace standard tirées au hasard (avec remise).
+     */
+
+    private static Carte[] cartesAleatoires(Random aleatoire, int n) {
+        Carte[] cartes = new Carte[n];
+        for (int i = 0; i < n; i++) {
+            cartes[i] = Carte.getCarte(aleatoire.nextInt(Carte.NB_CARTES));
+        }
+        return cartes;
+    }
+
+    /**
+     * Résultat : Un paquet de "taille" cartes (plusieurs exemplaires des 81 cartes au-delà de 81) dans l'ordre demandé :
+     * melange, trie, presque_trie (trié puis 5% de cartes échangées au hasard) ou inverse.
+     */
+
+    private static Paquet paquetOrdonne(Random aleatoire, int taille, String ordre) {
+        Carte[] cartes = new Carte[taille];
+        for (int i = 0; i < taille; i++) {
+            cartes[i] = Carte.getCarte(i % Carte.NB_CARTES);
+        }
+        if (ordre.equals("melange")) {
+            for (int i = taille - 1; i > 0; i--) {
+                echanger(cartes, i, aleatoire.nextInt(i + 1));
+            }
+        } else {
+            Arrays.sort(cartes, ordre.equals("inverse") ? Comparator.comparing(Carte::getCode).reversed()
+                                                         : Comparator.comparing(Carte::getCode));
+            if (ordre.equals("presque_trie")) {
+                for (int n = 0; n < Math.max(1, taille / 20); n++) {
+                    echanger(cartes, aleatoire.nextInt(taille), aleatoire.nextInt(taille));
+                }
+            }
+        }
+        return new Paquet(cartes);
+    }
+
+    private static void echanger(Carte[] cartes, int i, int j) {
+        Carte temp = cartes[i];
+        cartes[i] = cartes[j];
+        cartes[j] = temp;
+    }
+}
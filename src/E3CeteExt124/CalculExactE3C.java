@@ -0,0 +1,286 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * La classe CalculExactE3C calcule exactement, pour une table de k cartes distribuées au hasard à partir
+ * d'un paquet standard de 81 cartes :
+ * - le nombre de tables sans E3C, et donc la probabilité qu'une table contienne au moins un E3C,
+ * - la distribution du nombre d'E3C de la table.
+ *
+ * Les 81 cartes sont les points de l'espace affine (Z/3Z)^4 (une coordonnée par caractéristique) et les E3C
+ * sont exactement ses droites. Les transformations affines de cet espace (permutations des caractéristiques,
+ * permutations des valeurs d'une caractéristique, et plus généralement toute application affine inversible)
+ * conservent les droites, donc le nombre d'E3C d'une table. Elles envoient n'importe quel triplet de cartes
+ * qui n'est pas un E3C sur n'importe quel autre. Il suffit donc d'énumérer les tables qui contiennent
+ * un triplet fixé T (les cartes de codes 0, 1 et 3) :
+ *   nombre de tables à j E3C x (C(k,3) - j) = NB_TRIPLETS_NON_E3C x nombre de tables contenant T à j E3C,
+ * car une table à j E3C contient C(k,3) - j triplets qui ne sont pas des E3C.
+ * On énumère ainsi C(78, k-3) tables au lieu de C(81, k).
+ *
+ * Les tables sans E3C (ensembles de cartes sans E3C) sont énumérées en profondeur avec un masque des cartes
+ * encore ajoutables (on retire la carte qui complète chaque nouvelle paire), et le dernier niveau est compté
+ * d'un coup par le nombre de bits du masque : le calcul reste rapide jusqu'à k = 12 environ.
+ * La distribution du nombre d'E3C énumère toutes les tables contenant T : elle est réservée aux petites tables
+ * (k <= 10 environ).
+ * Dans les deux cas, les branches de l'énumération sont réparties sur tous les processeurs.
+ */
+public class CalculExactE3C {
+
+    // nombre de triplets de cartes (non ordonnés) qui ne sont pas des E3C : C(81,3) - 1080 droites
+    private static final long NB_TRIPLETS_NON_E3C = 85320 - 1080;
+    // triplet fixé (qui n'est pas un E3C) contenu dans les tables énumérées
+    private static final int[] TRIPLET = {0, 1, 3};
+
+    /**
+     * Pre-requis : 0 <= k <= 81
+     * Résultat : Le nombre de tables de k cartes (ensembles de k cartes différentes) ne contenant aucun E3C.
+     */
+
+    public static long compterTablesSansE3C(int k) {
+        if (k < 3) {
+            return combinaisons(Carte.NB_CARTES, k).longValueExact();
+        }
+        long[] masque = new long[2];
+        for (int code = 0; code < Carte.NB_CARTES; code++) {
+            ajouter(masque, code);
+        }
+        for (int carte : TRIPLET) {
+            retirer(masque, carte);
+        }
+        for (int i = 0; i < TRIPLET.length; i++) {
+            for (int j = i + 1; j < TRIPLET.length; j++) {
+                retirer(masque, Jeu.getTroisiemeCarte(TRIPLET[i], TRIPLET[j]));
+            }
+        }
+        long nbContenantTriplet;
+        if (k == 3) {
+            nbContenantTriplet = 1;
+        } else {
+            // une branche par première carte ajoutée au triplet, les suivantes étant de code plus grand
+            LongAdder total = new LongAdder();
+            long[] candidats = masque;
+            IntStream.range(0, Carte.NB_CARTES).parallel().filter(carte -> contient(candidats, carte)).forEach(carte -> {
+                int[] choisies = Arrays.copyOf(TRIPLET, k);
+                choisies[TRIPLET.length] = carte;
+                long bas = candidats[0];
+                long haut = candidats[1];
+                // on ne garde que les cartes de code plus grand que "carte"
+                if (carte < 63) {
+                    bas &= -1L << (carte + 1);
+                } else {
+                    bas = 0;
+                    haut &= carte == 63 ? -1L : -1L << (carte - 63);
+                }
+                long[] suivants = {bas, haut};
+                for (int i = 0; i < TRIPLET.length; i++) {
+                    retirer(suivants, Jeu.getTroisiemeCarte(carte, TRIPLET[i]));
+                }
+                total.add(compterSansE3C(choisies, TRIPLET.length + 1, suivants[0], suivants[1], k));
+            });
+            nbContenantTriplet = total.sum();
+        }
+        return NB_TRIPLETS_NON_E3C * nbContenantTriplet / (k * (k - 1L) * (k - 2) / 6);
+    }
+
+    /**
+     * Résultat : Le nombre d'ensembles sans E3C de k cartes qui contiennent les nbChoisies cartes choisies
+     * et dont les autres cartes sont prises parmi les candidats (masque de 81 bits bas/haut).
+     * Les candidats sont les cartes de code plus grand que la dernière choisie qui ne complètent aucune paire.
+     */
+
+    private static long compterSansE3C(int[] choisies, int nbChoisies, long bas, long haut, int k) {
+        int nbRestantes = k - nbChoisies;
+        if (nbRestantes == 0) {
+            return 1;
+        }
+        int nbCandidats = Long.bitCount(bas) + Long.bitCount(haut);
+        if (nbRestantes == 1 || nbCandidats < nbRestantes) {
+            return nbRestantes == 1 ? nbCandidats : 0;
+        }
+        long total = 0;
+        while (bas != 0 || haut != 0) {
+            int carte;
+            if (bas != 0) {
+                carte = Long.numberOfTrailingZeros(bas);
+                bas &= bas - 1;
+            } else {
+                carte = 64 + Long.numberOfTrailingZeros(haut);
+                haut &= haut - 1;
+            }
+            long basSuivant = bas;
+            long hautSuivant = haut;
+            for (int i = 0; i < nbChoisies; i++) {
+                int troisieme = Jeu.getTroisiemeCarte(carte, choisies[i]);
+                if (troisieme < 64) {
+                    basSuivant &= ~(1L << troisieme);
+                } else {
+                    hautSuivant &= ~(1L << (troisieme - 64));
+                }
+            }
+            choisies[nbChoisies] = carte;
+            total += compterSansE3C(choisies, nbChoisies + 1, basSuivant, hautSuivant, k);
+        }
+        return total;
+    }
+
+    /**
+     * Pre-requis : 0 <= k <= 81
+     * Résultat : La probabilité qu'une table de k cartes distribuées au hasard contienne au moins un E3C.
+     */
+
+    public static double probabiliteE3C(int k) {
+        return 1 - compterTablesSansE3C(k) / combinaisons(Carte.NB_CARTES, k).doubleValue();
+    }
+
+    /**
+     * Pre-requis : 0 <= k <= 81 (en pratique k <= 10, le calcul énumérant C(78, k-3) tables)
+     * Résultat : Un tableau distribution tel que distribution[j] soit le nombre de tables de k cartes
+     * contenant exactement j E3C. La somme du tableau est C(81, k).
+     */
+
+    public static long[] distributionNbE3C(int k) {
+        long[] distribution = new long[k * (k - 1) / 6 + 1];
+        if (k < 3) {
+            distribution[0] = combinaisons(Carte.NB_CARTES, k).longValueExact();
+            return distribution;
+        }
+        if (k == 3) {
+            distribution[1] = 1080;
+            distribution[0] = combinaisons(Carte.NB_CARTES, 3).longValueExact() - 1080;
+            return distribution;
+        }
+        // nombre de tables contenant le triplet, par nombre d'E3C (une branche par première carte ajoutée)
+        long[] contenantTriplet = IntStream.range(0, Carte.NB_CARTES).parallel()
+                .filter(carte -> Arrays.stream(TRIPLET).noneMatch(t -> t == carte))
+                .mapToObj(carte -> {
+                    long[] resultat = new long[distribution.length];
+                    int[] choisies = Arrays.copyOf(TRIPLET, k);
+                    long[] presentes = new long[2];
+                    for (int t : TRIPLET) {
+                        ajouter(presentes, t);
+                    }
+                    int nbE3C = compterNouveauxE3C(choisies, TRIPLET.length, presentes, carte);
+                    choisies[TRIPLET.length] = carte;
+                    ajouter(presentes, carte);
+                    compterParNbE3C(choisies, TRIPLET.length + 1, presentes, carte, nbE3C, k, resultat);
+                    return resultat;
+                })
+                .reduce(new long[distribution.length], CalculExactE3C::additionner);
+        long nbTriplets = k * (k - 1L) * (k - 2) / 6;
+        for (int j = 0; j < distribution.length; j++) {
+            if (contenantTriplet[j] != 0) {
+                distribution[j] = NB_TRIPLETS_NON_E3C * contenantTriplet[j] / (nbTriplets - j);
+            }
+        }
+        return distribution;
+    }
+
+    /**
+     * Action : Ajoute à resultat[j], pour chaque table de k cartes formée des nbChoisies cartes choisies
+     * et de cartes de code plus grand que derniere, son nombre d'E3C j (les choisies en ont nbE3C).
+     */
+
+    private static void compterParNbE3C(int[] choisies, int nbChoisies, long[] presentes, int derniere, int nbE3C,
+                                        int k, long[] resultat) {
+        if (nbChoisies == k) {
+            resultat[nbE3C]++;
+            return;
+        }
+        for (int carte = derniere + 1; carte <= Carte.NB_CARTES - (k - nbChoisies); carte++) {
+            if (contient(presentes, carte)) {
+                continue;
+            }
+            int nbNouveaux = compterNouveauxE3C(choisies, nbChoisies, presentes, carte);
+            choisies[nbChoisies] = carte;
+            ajouter(presentes, carte);
+            compterParNbE3C(choisies, nbChoisies + 1, presentes, carte, nbE3C + nbNouveaux, k, resultat);
+            retirer(presentes, carte);
+        }
+    }
+
+    /**
+     * Résultat : Le nombre d'E3C formés par la carte avec deux des nbChoisies cartes choisies (marquées dans presentes).
+     */
+
+    private static int compterNouveauxE3C(int[] choisies, int nbChoisies, long[] presentes, int carte) {
+        int nombre = 0;
+        for (int i = 0; i < nbChoisies; i++) {
+            if (contient(presentes, Jeu.getTroisiemeCarte(carte, choisies[i]))) {
+                nombre++;
+            }
+        }
+        // chaque E3C a été vu depuis ses deux autres cartes
+        return nombre / 2;
+    }
+
+    private static long[] additionner(long[] a, long[] b) {
+        long[] somme = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            somme[i] = a[i] + b[i];
+        }
+        return somme;
+    }
+
+    private static boolean contient(long[] masque, int code) {
+        return (masque[code >>> 6] >>> (code & 63) & 1) != 0;
+    }
+
+    private static void ajouter(long[] masque, int code) {
+        masque[code >>> 6] |= 1L << (code & 63);
+    }
+
+    private static void retirer(long[] masque, int code) {
+        masque[code >>> 6] &= ~(1L << (code & 63));
+    }
+
+    /**
+     * Résultat : Le coefficient binomial C(n, k).
+     */
+
+    private static BigInteger combinaisons(int n, int k) {
+        BigInteger resultat = BigInteger.ONE;
+        for (int i = 0; i < k; i++) {
+            resultat = resultat.multiply(BigInteger.valueOf(n - i)).divide(BigInteger.valueOf(i + 1));
+        }
+        return resultat;
+    }
+
+    /**
+     * Action : Affiche, pour une table hauteur x largeur, la probabilité exacte qu'elle contienne un E3C,
+     * comparée à une estimation de SimulationMonteCarlo, puis la distribution du nombre d'E3C si la table
+     * est assez petite.
+     * Usage : java CalculExactE3C [hauteur] [largeur] [nbEssais Monte Carlo] (par défaut 3 3 10000000).
+     */
+
+    public static void main(String[] args) {
+        int hauteur = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int largeur = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long nbEssais = args.length > 2 ? Long.parseLong(args[2]) : 10_000_000L;
+        int k = new Table(hauteur, largeur).getTaille();
+
+        long debut = System.nanoTime();
+        double exacte = probabiliteE3C(k);
+        long fin = System.nanoTime();
+        System.out.println(String.format(Locale.ROOT, "Table %dx%d (%d cartes) : P(au moins un E3C) = %.12f (%.1f s)",
+                hauteur, largeur, k, exacte, (fin - debut) / 1e9));
+        EstimationProbabilite estimation = new SimulationMonteCarlo(hauteur, largeur, 2023)
+                .estimer(SimulationMonteCarlo.CONTIENT_E3C, nbEssais);
+        double[] intervalle = estimation.getIntervalleConfiance95();
+        boolean coherent = intervalle[0] <= exacte && exacte <= intervalle[1];
+        System.out.println("Monte Carlo : " + estimation + (coherent ? " : cohérent" : " : HORS de l'intervalle"));
+
+        if (k <= 9) {
+            long[] distribution = distributionNbE3C(k);
+            double total = combinaisons(Carte.NB_CARTES, k).doubleValue();
+            for (int j = 0; j < distribution.length; j++) {
+                if (distribution[j] != 0) {
+                    System.out.println(String.format(Locale.ROOT, "  %2d E3C : %20d tables (%.9f)", j, distribution[j],
+                            distribution[j] / total));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * La classe ComparaisonVariantes compare les performances des deux versions du jeu :
+ * E3CeteBase (table 3x3 fixe) et E3CeteExt124 (table de taille variable), sur une table 3x3.
+ *
+ * Les deux versions déclarent les mêmes classes (Jeu, Paquet, Carte...) dans le paquetage par défaut :
+ * chacune est donc chargée par son propre chargeur de classes, à partir de son dossier de classes compilées,
+ * et ses méthodes sont appelées par réflexion (le surcoût de la réflexion est le même pour les deux versions).
+ *
+ * Les mêmes donnes (ordres des 81 cartes tirés avec une graine fixe) sont jouées par les deux versions :
+ * - recherche : Jeu.chercherE3CSurTableOrdinateur sur la table de départ de chaque donne,
+ * - pioche : Jeu.piocherEtPlacerNouvellesCartes jusqu'à épuisement du paquet,
+ * - parties : parties complètes de l'ordinateur, sans affichage ni pause (les sélections aléatoires
+ *   sont tirées par le banc avec la même graine pour les deux versions).
+ * Pour chaque mesure, on affiche le débit et la mémoire allouée, puis on signale une régression
+ * si E3CeteExt124 est plus lent que E3CeteBase au-delà de la tolérance.
+ *
+ * Usage : java ComparaisonVariantes [dossierBase] [dossierExt124] [nbDonnes] [tolerance en %]
+ * Par défaut : ../E3CeteBase . 2000 10 (les deux dossiers doivent contenir les classes compilées).
+ * Le programme se termine avec le code 1 si une régression est détectée.
+ */
+public class ComparaisonVariantes {
+
+    private static final long GRAINE = 2023;
+    private static final int[] TABLE_COMPLETE = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    /**
+     * Une version du jeu chargée dans son propre chargeur de classes.
+     */
+    private static class Variante {
+        private String nom;
+        private Constructor<?> constructeurJeu;
+        private Object[] argumentsJeu;
+        private Class<?> classeCarte;
+        private Class<?> classePaquet;
+        private Object[] cartes;
+        private Field champPaquet;
+        private Method chercher;
+        private Method piocherEtPlacer;
+        private Method partieEstTerminee;
+
+        private Variante(String nom, String dossier) throws ReflectiveOperationException, java.io.IOException {
+            this.nom = nom;
+            URL[] urls = {new File(dossier).getCanonicalFile().toURI().toURL()};
+            ClassLoader chargeur = new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+            Class<?> classeJeu = chargeur.loadClass("Jeu");
+            this.classeCarte = chargeur.loadClass("Carte");
+            this.classePaquet = chargeur.loadClass("Paquet");
+            Class<?> classeCouleur = chargeur.loadClass("Couleur");
+            Class<?> classeFigure = chargeur.loadClass("Figure");
+            Class<?> classeTexture = chargeur.loadClass("Texture");
+            try {
+                this.constructeurJeu = classeJeu.getConstructor(int.class, int.class);
+                this.argumentsJeu = new Object[] {3, 3};
+            } catch (NoSuchMethodException e) {
+                this.constructeurJeu = classeJeu.getConstructor();
+                this.argumentsJeu = new Object[0];
+            }
+            this.champPaquet = classeJeu.getDeclaredField("paquet");
+            this.champPaquet.setAccessible(true);
+            this.chercher = classeJeu.getMethod("chercherE3CSurTableOrdinateur");
+            this.piocherEtPlacer = classeJeu.getMethod("piocherEtPlacerNouvellesCartes", int[].class);
+            this.partieEstTerminee = classeJeu.getMethod("partieEstTerminee");
+
+            // cartes[code] : la carte de cette version ayant le code standard "code" (voir Carte.getCode)
+            Constructor<?> constructeurCarte = this.classeCarte.getConstructor(classeCouleur, int.class,
+                    classeFigure, classeTexture);
+            this.cartes = new Object[Carte.NB_CARTES];
+            for (int code = 0; code < Carte.NB_CARTES; code++) {
+                this.cartes[code] = constructeurCarte.newInstance(classeCouleur.getEnumConstants()[code / 27],
+                        (code / 9) % 3 + 1, classeFigure.getEnumConstants()[(code / 3) % 3],
+                        classeTexture.getEnumConstants()[code % 3]);
+            }
+        }
+
+        /**
+         * Résultat : Un nouveau jeu dont le paquet contient les cartes dans l'ordre "donne" (la dernière est
+         * le dessus du paquet) et dont la table 3x3 a été remplie à partir de ce paquet.
+         */
+
+        private Object nouveauJeu(int[] donne) throws ReflectiveOperationException {
+            Object jeu = this.constructeurJeu.newInstance(this.argumentsJeu);
+            Object cartesDonne = Array.newInstance(this.classeCarte, donne.length);
+            for (int i = 0; i < donne.length; i++) {
+                Array.set(cartesDonne, i, this.cartes[donne[i]]);
+            }
+            Object paquet;
+            try {
+                paquet = this.classePaquet.getConstructor(cartesDonne.getClass()).newInstance(cartesDonne);
+            } catch (NoSuchMethodException e) {
+                // E3CeteBase n'a pas de constructeur Paquet(Carte[]) : on remplace le contenu d'un paquet existant
+                paquet = this.champPaquet.get(jeu);
+                Field champCartes = this.classePaquet.getDeclaredField("cartes");
+                Field champNbCartes = this.classePaquet.getDeclaredField("nbCartes");
+                champCartes.setAccessible(true);
+                champNbCartes.setAccessible(true);
+                champCartes.set(paquet, cartesDonne);
+                champNbCartes.setInt(paquet, donne.length);
+            }
+            this.champPaquet.set(jeu, paquet);
+            this.piocherEtPlacer.invoke(jeu, (Object) TABLE_COMPLETE.clone());
+            return jeu;
+        }
+    }
+
+    /**
+     * Résultats d'une mesure : nombre d'opérations, durée et mémoire allouée.
+     */
+    private static class Mesure {
+        private long nbOperations;
+        private long dureeNanos;
+        private long octetsAlloues;
+        private long nbTours;
+        private long scoreTotal;
+
+        private double getOperationsParSeconde() {
+            return this.nbOperations * 1e9 / this.dureeNanos;
+        }
+
+        private double getOctetsParOperation() {
+            return (double) this.octetsAlloues / this.nbOperations;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String dossierBase = args.length > 0 ? args[0] : ".." + File.separator + "E3CeteBase";
+        String dossierExt = args.length > 1 ? args[1] : ".";
+        int nbDonnes = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        double tolerance = (args.length > 3 ? Double.parseDouble(args[3]) : 10) / 100;
+
+        Variante base = new Variante("E3CeteBase", dossierBase);
+        Variante ext = new Variante("E3CeteExt124", dossierExt);
+        int[][] donnes = genererDonnes(nbDonnes);
+
+        boolean regression = false;
+        String[] noms = {"recherche", "pioche", "parties"};
+        for (String nom : noms) {
+            // première exécution pour l'échauffement du JIT, la seconde est mesurée
+            mesurer(nom, base, donnes);
+            mesurer(nom, ext, donnes);
+            Mesure mesureBase = mesurer(nom, base, donnes);
+            Mesure mesureExt = mesurer(nom, ext, donnes);
+            afficher(nom, base, mesureBase);
+            afficher(nom, ext, mesureExt);
+            double rapport = mesureExt.getOperationsParSeconde() / mesureBase.getOperationsParSeconde();
+            String verdict = rapport < 1 - tolerance ? "RÉGRESSION" : "OK";
+            regression = regression || rapport < 1 - tolerance;
+            System.out.println(String.format(Locale.ROOT, "%-10s E3CeteExt124 / E3CeteBase : x%.2f  %s", nom, rapport,
+                    verdict));
+        }
+        if (regression) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Résultat : nbDonnes ordres des 81 cartes standard (codes), tirés avec une graine fixe.
+     */
+
+    private static int[][] genererDonnes(int nbDonnes) {
+        Random hasard = new Random(GRAINE);
+        int[][] donnes = new int[nbDonnes][Carte.NB_CARTES];
+        for (int[] donne : donnes) {
+            for (int i = 0; i < donne.length; i++) {
+                donne[i] = i;
+            }
+            for (int i = donne.length - 1; i > 0; i--) {
+                int j = hasard.nextInt(i + 1);
+                int temp = donne[i];
+                donne[i] = donne[j];
+                donne[j] = temp;
+            }
+        }
+        return donnes;
+    }
+
+    /**
+     * Action : Joue la mesure "nom" (recherche, pioche ou parties) sur toutes les donnes avec la version "variante".
+     * Seul le temps des appels mesurés est compté (pas la préparation des jeux).
+     */
+
+    private static Mesure mesurer(String nom, Variante variante, int[][] donnes) throws ReflectiveOperationException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Random hasard = new Random(GRAINE);
+        Mesure mesure = new Mesure();
+        int[] premiers = {1, 2, 3};
+        for (int[] donne : donnes) {
+            Object jeu = variante.nouveauJeu(donne);
+            long octets = threads.getCurrentThreadAllocatedBytes();
+            long debut = System.nanoTime();
+            try {
+                if (nom.equals("recherche")) {
+                    variante.chercher.invoke(jeu);
+                    mesure.nbOperations++;
+                } else if (nom.equals("pioche")) {
+                    for (int i = 9; i + 3 <= donne.length; i += 3) {
+                        variante.piocherEtPlacer.invoke(jeu, (Object) premiers);
+                        mesure.nbOperations++;
+                    }
+                } else {
+                    jouerPartie(variante, jeu, hasard, mesure);
+                    mesure.nbOperations++;
+                }
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(variante.nom + " : " + nom, e.getCause());
+            }
+            mesure.dureeNanos += System.nanoTime() - debut;
+            mesure.octetsAlloues += threads.getCurrentThreadAllocatedBytes() - octets;
+        }
+        return mesure;
+    }
+
+    /**
+     * Action : Joue une partie complète de l'ordinateur (comme Jeu.jouerOrdinateur, sans affichage ni pause).
+     * Si aucun E3C n'est trouvé, trois cartes distinctes sont choisies au hasard (et ce n'est pas un E3C).
+     */
+
+    private static void jouerPartie(Variante variante, Object jeu, Random hasard, Mesure mesure)
+            throws ReflectiveOperationException {
+        while (!(Boolean) variante.partieEstTerminee.invoke(jeu)) {
+            int[] e3c = (int[]) variante.chercher.invoke(jeu);
+            if (e3c == null) {
+                e3c = new int[3];
+                e3c[0] = 1 + hasard.nextInt(9);
+                do {
+                    e3c[1] = 1 + hasard.nextInt(9);
+                } while (e3c[1] == e3c[0]);
+                do {
+                    e3c[2] = 1 + hasard.nextInt(9);
+                } while (e3c[2] == e3c[0] || e3c[2] == e3c[1]);
+                mesure.scoreTotal--;
+            } else {
+                mesure.scoreTotal += 3;
+            }
+            variante.piocherEtPlacer.invoke(jeu, (Object) e3c);
+            mesure.nbTours++;
+        }
+    }
+
+    private static void afficher(String nom, Variante variante, Mesure mesure) {
+        String ligne = String.format(Locale.ROOT, "%-10s %-13s %12.0f op/s  %10.1f octets/op", nom, variante.nom,
+                mesure.getOperationsParSeconde(), mesure.getOctetsParOperation());
+        if (mesure.nbTours > 0) {
+            ligne += String.format(Locale.ROOT, "  %.2f tours/partie  score moyen %.2f",
+                    (double) mesure.nbTours / mesure.nbOperations, (double) mesure.scoreTotal / mesure.nbOperations);
+        }
+        System.out.println(ligne);
+    }
+}
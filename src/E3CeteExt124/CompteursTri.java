@@ -0,0 +1,63 @@
+/**
+ * La classe CompteursTri compte le travail effectué par un tri de Paquet :
+ * - le nombre de comparaisons de deux cartes (appels au comparateur pour le tri parallèle),
+ * - le nombre de déplacements de cartes (chaque écriture d'une carte dans un tableau, un échange en compte donc 2),
+ * - le nombre de cases de tableaux allouées par le tri (copie du paquet trié comprise).
+ *   Aucune Carte n'est créée par les tris : les cartes sont partagées (voir Carte.getCarte).
+ *
+ * On passe des compteurs aux méthodes de tri de Paquet (par exemple trierInsertion(compteurs)) pour les remplir.
+ * Chaque tri compte lui-même ce qu'il fait : les autres fils d'exécution ne faussent pas les compteurs.
+ * Sans compteurs (null), les tris ne comptent rien.
+ * Les compteurs s'ajoutent d'un tri à l'autre, jusqu'à l'appel de reinitialiser.
+ * Un même objet CompteursTri ne doit pas être utilisé par plusieurs tris en même temps.
+ */
+public class CompteursTri {
+
+    private long comparaisons;
+    private long deplacements;
+    private long allocations;
+
+    public void compterComparaison() {
+        this.comparaisons++;
+    }
+
+    public void compterDeplacements(long nombre) {
+        this.deplacements += nombre;
+    }
+
+    public void compterComparaisons(long nombre) {
+        this.comparaisons += nombre;
+    }
+
+    public void compterAllocations(long nombre) {
+        this.allocations += nombre;
+    }
+
+    public long getComparaisons() {
+        return this.comparaisons;
+    }
+
+    public long getDeplacements() {
+        return this.deplacements;
+    }
+
+    public long getAllocations() {
+        return this.allocations;
+    }
+
+    /**
+     * Action : Remet tous les compteurs à 0.
+     */
+
+    public void reinitialiser() {
+        this.comparaisons = 0;
+        this.deplacements = 0;
+        this.allocations = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "comparaisons=" + this.comparaisons + ", déplacements=" + this.deplacements
+                + ", cases allouées=" + this.allocations;
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.Locale;
+
+/**
+ * La classe EstimationProbabilite représente le résultat d'une simulation (voir SimulationMonteCarlo) :
+ * un nombre de succès sur un nombre d'essais indépendants, la probabilité estimée et son intervalle de confiance.
+ *
+ * L'intervalle est l'intervalle de Wilson, qui reste correct pour les probabilités proches de 0 ou de 1
+ * (contrairement à p +/- z * sqrt(p(1-p)/n)).
+ */
+public class EstimationProbabilite {
+
+    // nombre d'écarts-types de la loi normale pour un intervalle de confiance à 95 %
+    public static final double Z_95 = 1.959963984540054;
+
+    private long nbEssais;
+    private long nbSucces;
+
+    /**
+     * Pre-requis : 0 <= nbSucces <= nbEssais, nbEssais > 0
+     */
+
+    public EstimationProbabilite(long nbEssais, long nbSucces) {
+        this.nbEssais = nbEssais;
+        this.nbSucces = nbSucces;
+    }
+
+    public long getNbEssais() {
+        return this.nbEssais;
+    }
+
+    public long getNbSucces() {
+        return this.nbSucces;
+    }
+
+    /**
+     * Résultat : La proportion de succès.
+     */
+
+    public double getProbabilite() {
+        return (double) this.nbSucces / this.nbEssais;
+    }
+
+    /**
+     * Pre-requis : z > 0
+     * Résultat : Les bornes {inférieure, supérieure} de l'intervalle de confiance de Wilson à z écarts-types
+     * (z = Z_95 pour un niveau de confiance de 95 %).
+     */
+
+    public double[] getIntervalleConfiance(double z) {
+        double n = this.nbEssais;
+        double p = this.getProbabilite();
+        double z2 = z * z;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double demiLargeur = z / (1 + z2 / n) * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+        // sans succès (ou sans échec), la borne vaut exactement 0 (ou 1) : le calcul en double peut s'en écarter
+        double inferieure = this.nbSucces == 0 ? 0 : Math.max(0, centre - demiLargeur);
+        double superieure = this.nbSucces == this.nbEssais ? 1 : Math.min(1, centre + demiLargeur);
+        return new double[] {inferieure, superieure};
+    }
+
+    /**
+     * Résultat : L'intervalle de confiance à 95 %.
+     */
+
+    public double[] getIntervalleConfiance95() {
+        return this.getIntervalleConfiance(Z_95);
+    }
+
+    @Override
+    public String toString() {
+        double[] intervalle = this.getIntervalleConfiance95();
+        return String.format(Locale.ROOT, "%.6f (IC 95 %% : [%.6f ; %.6f], %d succès sur %d essais)",
+                this.getProbabilite(), intervalle[0], intervalle[1], this.nbSucces, this.nbEssais);
+    }
+}
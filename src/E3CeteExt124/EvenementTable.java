@@ -0,0 +1,13 @@
+/**
+ * Un EvenementTable est une propriété d'une table de cartes, dont SimulationMonteCarlo estime la probabilité.
+ * La table est donnée par les codes de ses cartes (voir Carte.getCode), case par case, ligne par ligne.
+ */
+public interface EvenementTable {
+
+    /**
+     * Pre-requis : codes contient des codes de cartes standard, tous différents.
+     * Résultat : Vrai si l'évènement est réalisé pour la table formée de ces cartes.
+     * Le tableau codes est réutilisé d'un essai à l'autre : il ne doit être ni modifié, ni conservé.
+     */
+    boolean estRealise(int[] codes);
+}
@@ -1,9 +1,9 @@
-public enum Figure {
-
-    /**
-     * Représente la figure (forme) d'une Carte : ovale , triangle ...
-     */
-    OVALE,
-    LOSANGE,
-    CARRE;
-}
+public enum Figure {
+
+    /**
+     * Représente la figure (forme) d'une Carte : ovale , triangle ...
+     */
+    OVALE,
+    LOSANGE,
+    CARRE;
+}
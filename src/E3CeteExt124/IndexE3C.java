@@ -0,0 +1,153 @@
+import java.util.Arrays;
+
+/**
+ * La classe IndexE3C maintient, au fil des modifications d'une Table, le nombre d'E3C présents sur la table
+ * et, pour chaque case, le nombre d'E3C auxquels participe sa carte.
+ *
+ * Quand la carte d'une case change, seuls les E3C contenant cette case sont recalculés :
+ * pour chaque autre case j, on regarde combien de cases contiennent la carte complétant (case, j).
+ * Une modification coûte donc O(n) (n étant la taille de la table) au lieu d'une nouvelle recherche en O(n²).
+ *
+ * Pour retrouver rapidement les cases contenant un code, les cases de même code sont chaînées
+ * (liste doublement chaînée, sans ordre particulier).
+ */
+public class IndexE3C {
+
+    private int[] codes;
+    private int[] nbE3CParCase;
+    private long nbE3C;
+    private int[] premiereCase;
+    private int[] caseSuivante;
+    private int[] casePrecedente;
+
+    /**
+     * Pre-requis : codes[i] est le code de la carte numéro i+1 de la table, ou -1 si la case est vide.
+     * Action : Construit l'index des E3C des cartes de codes "codes".
+     * Le tableau "codes" n'est pas modifié par l'index : c'est la table qui le met à jour (voir changerCase).
+     */
+
+    public IndexE3C(int[] codes) {
+        this.codes = codes;
+        this.nbE3CParCase = new int[codes.length];
+        this.premiereCase = new int[Carte.NB_CARTES];
+        this.caseSuivante = new int[codes.length];
+        this.casePrecedente = new int[codes.length];
+        Arrays.fill(this.premiereCase, -1);
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] >= 0) {
+                this.ajouter(i);
+            }
+        }
+    }
+
+    /**
+     * Pre-requis : codes[numeroCase] contient encore l'ancien code de la case.
+     * Action : Retire de l'index la carte de la case numeroCase (indice à partir de 0).
+     * La table doit ensuite mettre à jour codes[numeroCase] puis appeler ajouter si la case n'est pas vide.
+     */
+
+    public void retirer(int numeroCase) {
+        if (this.codes[numeroCase] < 0) {
+            return;
+        }
+        this.compterE3CDeLaCase(numeroCase, -1);
+        int suivante = this.caseSuivante[numeroCase];
+        int precedente = this.casePrecedente[numeroCase];
+        if (precedente == -1) {
+            this.premiereCase[this.codes[numeroCase]] = suivante;
+        } else {
+            this.caseSuivante[precedente] = suivante;
+        }
+        if (suivante != -1) {
+            this.casePrecedente[suivante] = precedente;
+        }
+    }
+
+    /**
+     * Pre-requis : codes[numeroCase] >= 0 contient le nouveau code de la case.
+     * Action : Ajoute à l'index la carte de la case numeroCase (indice à partir de 0).
+     */
+
+    public void ajouter(int numeroCase) {
+        int code = this.codes[numeroCase];
+        this.caseSuivante[numeroCase] = this.premiereCase[code];
+        this.casePrecedente[numeroCase] = -1;
+        if (this.premiereCase[code] != -1) {
+            this.casePrecedente[this.premiereCase[code]] = numeroCase;
+        }
+        this.premiereCase[code] = numeroCase;
+        this.compterE3CDeLaCase(numeroCase, 1);
+    }
+
+    /**
+     * Action : Ajoute "sens" (1 ou -1) aux compteurs de chaque E3C contenant la case numeroCase.
+     * Chaque paire (j,k) complétant la case n'est comptée qu'une fois (j < k).
+     */
+
+    private void compterE3CDeLaCase(int numeroCase, int sens) {
+        int code = this.codes[numeroCase];
+        for (int j = 0; j < this.codes.length; j++) {
+            if (j != numeroCase && this.codes[j] >= 0) {
+                int k = this.premiereCase[Jeu.getTroisiemeCarte(code, this.codes[j])];
+                while (k != -1) {
+                    if (k > j && k != numeroCase) {
+                        this.nbE3CParCase[numeroCase] += sens;
+                        this.nbE3CParCase[j] += sens;
+                        this.nbE3CParCase[k] += sens;
+                        this.nbE3C += sens;
+                    }
+                    k = this.caseSuivante[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Résultat : Le nombre d'E3C présents sur la table.
+     */
+
+    public long getNbE3C() {
+        return this.nbE3C;
+    }
+
+    /**
+     * Résultat : Le nombre d'E3C auxquels participe la carte de la case numeroCase (indice à partir de 0).
+     */
+
+    public int getNbE3CCase(int numeroCase) {
+        return this.nbE3CParCase[numeroCase];
+    }
+
+    /**
+     * Résultat : Le plus petit E3C (dans l'ordre des numéros) sous forme de numéros de cartes (à partir de 1),
+     * ou null s'il n'y en a pas.
+     * La première carte est la première case participant à un E3C, il reste alors à lui trouver deux partenaires.
+     */
+
+    public int[] chercherE3C() {
+        if (this.nbE3C == 0) {
+            return null;
+        }
+        int i = 0;
+        while (this.nbE3CParCase[i] == 0) {
+            i++;
+        }
+        for (int j = i + 1; j < this.codes.length - 1; j++) {
+            if (this.codes[j] >= 0) {
+                int kMin = -1;
+                int k = this.premiereCase[Jeu.getTroisiemeCarte(this.codes[i], this.codes[j])];
+                while (k != -1) {
+                    if (k > j && (kMin == -1 || k < kMin)) {
+                        kMin = k;
+                    }
+                    k = this.caseSuivante[k];
+                }
+                if (kMin != -1) {
+                    int[] e3c = {i + 1, j + 1, kMin + 1};
+                    return e3c;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,332 +1,605 @@
-/**
- * La classe Jeu permet de faire des parties du jeu "E3Cète" soit avec un humain, soit avec un ordinateur.
- *
- * Règles :
- *
- *  - On possède un paquet de cartes qui représentent entre une et trois figures (losange, carre ou ovale), une texture
- *   (vide, hachuré ou plein) et une couleur (rouge, jaune ou bleu). La cardinalité des énumérations est fixée à 3 pour cette partie 2 de la SAE uniquement.
- *
- *  - Une table 3x3 permet de stocker 9 cartes. Au début de la partie, on dispose 9 cartes sur la table, piochées sur le dessus du paquet.
- *
- *  - A chaque tour, le joueur doit essayer de trouver un E3C.
- *
- *  - Le joueur doit désigner trois cartes par leurs coordonnées.
- *      - Si ces cartes forment un E3C, il gagne trois points sur son score.
- *      - Si ce n'est pas un E3C, il perd 1 point sur son score.
- *
- *   - Les trois cartes sont remplacées par de nouvelles cartes piochées dans le paquet.
- *
- *   - La partie se termine quand il n'y a plus de cartes dans le paquet (même s'il reste des cartes sur la table).
- *
- * On a donc besoin :
- *
- * - D'un paquet pour stocker toutes les cartes et avoir une pioche.
- * - D'une table.
- * - De quoi stocker le score du joueur (humain ou ordinateur).
- */
-public class Jeu {
-
-    private int score;
-    private Table table;
-    private Paquet paquet;
-
-    /**
-     * Action :
-     * - Initialise le jeu "E3Cète" en initialisant le score du joueur, le paquet et la table.
-     * - La table doit être remplie.
-     */
-
-    public Jeu(int hauteur, int largueur) {
-        this.resetJeu(hauteur, largueur);
-    }
-
-    /**
-     * Action : Pioche autant de cartes qu'il y a de numéros de cartes dans le tableau numerosDeCartes et les place
-     * aux positions correspondantes sur la table.
-     */
-
-    public void piocherEtPlacerNouvellesCartes(int[] numerosDeCartes) {
-        for (int i = 0; i < numerosDeCartes.length; i++){
-            if (this.paquet.peutPiocher(1)){
-                this.table.setTableauCase((numerosDeCartes[i]-1)/this.table.getLargeur(),(numerosDeCartes[i]-1)%this.table.getLargeur(),this.paquet.piocher(1)[0]);
-            }
-            else{
-                this.table.setTableauCase((numerosDeCartes[i]-1)/this.table.getLargeur(),(numerosDeCartes[i]-1)%this.table.getLargeur(),null);
-            }
-        }
-    }
-
-    /**
-     * Action : Ré-initialise les données et variables du jeu afin de rejouer une nouvelle partie.
-     */
-
-    public void resetJeu(int hauteur, int largeur){
-        
-        this.score = 0;
-        Couleur[] couleurs = {Couleur.ROUGE,Couleur.BLEU, Couleur.JAUNE};
-        Figure[] figures = {Figure.OVALE, Figure.LOSANGE,Figure.CARRE};
-        Texture[] textures = {Texture.PLEIN, Texture.VIDE, Texture.HACHURÉ};
-        this.paquet = new Paquet(couleurs, 3, figures, textures);
-        this.table = new Table(hauteur,largeur);
-        int[] pioche = new int[this.table.getTaille()];
-        for (int i = 1; i <= this.table.getTaille(); i++){
-            pioche[i-1]=i;
-        }
-        this.piocherEtPlacerNouvellesCartes(pioche);
-    }
-
-    /**
-     * Pre-requis : entiers.length == 3.
-     * Résultat : Vrai si trois entiers du tableaux sont tous égaux ou 
-     * tous différents, faux sinon.
-     */
-
-    public static boolean entiersEgauxOuDifferents(int[] entiers){
-        if (entiers[0] == entiers[1] && entiers[0] == entiers[2]){
-            return true;
-        }
-        if (entiers[0] != entiers[1] && entiers[0] != entiers[2] && entiers[1] != entiers[2]){
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Résullat : Vrai si les cartes passées en paramètre forment un E3C.
-     */
-
-    public static boolean estUnE3C(Carte[] cartes) {
-        int[] couleursOrdinaux = {cartes[0].getCouleur().ordinal(),
-            cartes[1].getCouleur().ordinal(),cartes[2].getCouleur().ordinal()};
-        int[] nbFigures = {cartes[0].getNbFigures(),cartes[1].getNbFigures(),cartes[2].getNbFigures()};
-        int[] figuresOrdinaux = {cartes[0].getFigure().ordinal(),
-            cartes[1].getFigure().ordinal(),cartes[2].getFigure().ordinal()};
-        int[] texturesOrdinaux = {cartes[0].getTexture().ordinal(),
-            cartes[1].getTexture().ordinal(),cartes[2].getTexture().ordinal()};
-
-        if (entiersEgauxOuDifferents(couleursOrdinaux) && entiersEgauxOuDifferents(nbFigures)
-            && entiersEgauxOuDifferents(figuresOrdinaux) && entiersEgauxOuDifferents(texturesOrdinaux)){
-            return true;
-        } 
-        return false;
-    }
-
-    /**
-     * Action : Recherche un E3C parmi les cartes disposées sur la table.
-     * Résullat :
-     *  - Si un E3C existe, un tableau contenant les numéros de cartes (de la table) qui forment un E3C.
-     *  - Sinon, la valeur null.
-     */
-
-    public int[] chercherE3CSurTableOrdinateur() {
-        Carte[] cartes = new Carte[3];
-        boolean trouve = false;
-        int i = 0;
-        int j = 1;
-        int k = 2;
-        int taille = this.table.getTaille();
-        int largeur = this.table.getLargeur();
-        while (i < taille-2 && !trouve){
-            if (this.table.getTableau()[i/largeur][i%largeur]!=null){
-                cartes[0] = this.table.getTableau()[i/largeur][i%largeur];
-                j = i+1;
-                while (j < taille-1 && !trouve){
-                    if (this.table.getTableau()[j/largeur][j%largeur]!=null){
-                        cartes[1] = this.table.getTableau()[j/largeur][j%largeur];
-                        k = j+1;
-                        while (k < taille && !trouve){
-                            if (this.table.getTableau()[k/largeur][k%largeur]!=null){
-                                cartes[2] = this.table.getTableau()[k/largeur][k%largeur];
-                                trouve = estUnE3C(cartes);
-                            }
-                            k++;
-                        } 
-                    }
-                    j++;
-                }
-            }
-            i++;
-        }
-        if (trouve){
-            int[]e3c = {i,j,k};
-            return e3c;
-        }
-        return null;
-    }
-
-    /**
-     * Action : Sélectionne alétoirement trois cartes sur la table.
-     * La sélection ne doit pas contenir de doublons
-     * Résullat : un tableau contenant les numéros des cartes sélectionnées alétaoirement
-     */
-
-    public int[] selectionAleatoireDeCartesOrdinateur() {
-        int[] selection = new int[3];
-        selection[0] = Ut.randomMinMax(1,9);
-        int random = Ut.randomMinMax(1,9);
-        while (random == selection[0]){
-            random = Ut.randomMinMax(1,9);
-        }
-        selection[1] = random;
-        while (random == selection[0] || random == selection[1]){
-            random = Ut.randomMinMax(1,9);
-        }
-        selection[2] = random;
-        return selection;
-    }
-
-    /**
-     * Résullat : Vrai si la partie en cours est terminée.
-     */
-
-    public boolean partieEstTerminee() {
-        return this.paquet.getNbCartes() == 0 && chercherE3CSurTableOrdinateur() == null;
-    }
-
-    /**
-     * Action : Fait jouer un tour à un joueur humain.
-     * La Table et le score du joueur sont affichés.
-     * Le joueur sélectionne 3 cartes.
-     *  - Si c'est un E3C, il gagne trois points.
-     *  - Sinon, il perd un point.
-     * Les cartes sélectionnées sont remplacées.
-     * Divers messages d'informations doivent être affichés pour l'ergonomie.
-     */
-
-    public void jouerTourHumain() {
-        int largeur = this.table.getLargeur();
-        System.out.println("Cherchez un E3C !");
-        System.out.println("Score : " + this.score);
-        for (int i = 1; i <= this.table.getTaille(); i+=largeur) {
-            int[] afficheLigne = new int[largeur];
-            for (int j = 0; j < largeur; j++){
-                afficheLigne[j] = i+j;
-            }
-            this.table.afficherSelection(afficheLigne);
-        }
-        int[] jouer = this.table.selectionnerCartesJoueur(3);
-        Carte[] jouerCarte = {this.table.getTableau()[(jouer[0]-1)/largeur][(jouer[0]-1)%largeur],
-                 this.table.getTableau()[(jouer[1]-1)/largeur][(jouer[1]-1)%largeur],
-                 this.table.getTableau()[(jouer[2]-1)/largeur][(jouer[2]-1)%largeur]};
-        if(estUnE3C(jouerCarte)){
-            this.score += 3;
-            System.out.println("C'est bien un E3C, vous gagnez 3 points!");
-        }
-        else{
-            this.score--;
-            System.out.println("Ce n'était pas un E3C, vous perdez 1 point!");
-        }
-        this.piocherEtPlacerNouvellesCartes(jouer);
-    }
-
-    /**
-     * Action : Fait jouer une partie à un joueur humain.
-     * A la fin, le score final du joueur est affiché.
-     */
-
-    public void jouerHumain() {
-        while (!this.partieEstTerminee()){
-            this.jouerTourHumain();
-        }
-        System.out.println("Score final : " + this.score);
-        System.out.println("==================================");
-    }
-
-    /**
-     * Action : Fait jouer un tour à l'ordinateur.
-     * La Table et le score de l'ordinateur sont affichés.
-     * L'ordinateur sélectionne des cartes :
-     *  - L'ordinateur essaye toujours de trouver un E3C sur la table. S'il en trouve un, il gagne donc trois points.
-     *  - S'il n'en trouve pas, il se rabat sur 3 cartes sélectionnées aléatoirement et perd un point.
-     * Les cartes sélectionnées sont remplacées.
-     * Divers messages d'informations doivent être affichés pour l'ergonomie.
-     */
-
-    public void jouerTourOrdinateur() {
-        int largeur = this.table.getLargeur();
-        System.out.println("Cherchez un E3C !");
-        System.out.println("Score : " + this.score);
-        for (int i = 1; i <= this.table.getTaille(); i+=largeur) {
-            int[] afficheLigne = new int[largeur];
-            for (int j = 0; j < largeur; j++){
-                afficheLigne[j] =i+j;
-            }
-            this.table.afficherSelection(afficheLigne);
-        }
-        int[] e3c = this.chercherE3CSurTableOrdinateur();
-        if (e3c == null){
-            e3c = this.selectionAleatoireDeCartesOrdinateur();
-        }
-        System.out.println("Cartes sélectionnées : "+e3c[0]+" "+e3c[1]+" "+e3c[2]);
-        Carte[] e3cCartes = {this.table.getTableau()[(e3c[0]-1)/largeur][(e3c[0]-1)%largeur],
-                     this.table.getTableau()[(e3c[1]-1)/largeur][(e3c[1]-1)%largeur],
-                     this.table.getTableau()[(e3c[2]-1)/largeur][(e3c[2]-1)%largeur]};
-        if(estUnE3C(e3cCartes)){
-            this.score += 3;
-            System.out.println("C'est bien un E3C, l'ordinateur gagne 3 points!");
-        }
-        else{
-            this.score--;
-            System.out.println("Ce n'était pas un E3C, l'ordinateur perd 1 point!");
-        }
-        this.piocherEtPlacerNouvellesCartes(e3c);
-    }
-    
-
-    /**
-     * Action : Fait jouer une partie à l'ordinateur.
-     * Une pause est faite entre chaque tour (500 ms ou plus) afin de pouvoir observer la progression de l'ordinateur.
-     * A la fin, le score final de l'ordinateur est affiché.
-     * Rappel : Ut.pause(temps) permet de faire une pause de "temps" millisecondes
-     */
-
-    public void jouerOrdinateur() {
-        while (!this.partieEstTerminee()){
-            this.jouerTourOrdinateur();
-            Ut.pause(1000);
-        }
-        System.out.println("Score final : " + this.score);
-        System.out.println("==================================");
-    }
-
-    /**
-     * Action : Permet de lancer des parties de "E3Cète" au travers d'un menu.
-     * Le menu permet au joueur de sélectionner une option parmi :
-     *  - humain : lance une partie avec un joueur humain
-     *  - ordinateur : lance une partie avec un ordinateur
-     *  - terminer : arrête le programme.
-     * Après la fin de chaque partie, les données de jeu sont ré-initialisées et le menu est ré-affiché
-     * (afin de faire une nouvelle sélection).
-     * Les erreurs de saisie doivent être gérées (si l'utilisateur sélectionne une option inexistante).
-     * Divers messages d'informations doivent être affichés pour l'ergonomie.
-     */
-
-    public void jouer() {
-        String reponse = "";
-        while (!"terminer".equals(reponse)){
-            System.out.println("Voulez vous jouer (tapez humain), faire jouer un ordinateur (ordinateur) ou arreter de jouer (terminer) ?");
-            reponse = Ut.saisirChaine();
-    
-            while (!"humain".equals(reponse) && !"ordinateur".equals(reponse) && !"terminer".equals(reponse)){
-                System.out.println("Retapez votre réponse (humain/ordinateur/terminer).");
-                reponse = Ut.saisirChaine();
-            }
-            if ("humain".equals(reponse)) {
-                System.out.println("Entrez la hauteur de la table : ");
-                int hauteur = Ut.saisirEntier();
-                System.out.println("Entrez la largeur de la table : ");
-                int largeur = Ut.saisirEntier();
-                this.resetJeu(hauteur, largeur);
-                this.jouerHumain();
-            }
-            else if ("ordinateur".equals(reponse)){
-                System.out.println("Entrez la hauteur de la table : ");
-                int hauteur = Ut.saisirEntier();
-                System.out.println("Entrez la largeur de la table : ");
-                int largeur = Ut.saisirEntier();
-                this.resetJeu(hauteur, largeur);
-                this.jouerOrdinateur();
-            }
-        }
-    }
-}
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * La classe Jeu permet de faire des parties du jeu "E3Cète" soit avec un humain, soit avec un ordinateur.
+ *
+ * Règles :
+ *
+ *  - On possède un paquet de cartes qui représentent entre une et trois figures (losange, carre ou ovale), une texture
+ *   (vide, hachuré ou plein) et une couleur (rouge, jaune ou bleu). La cardinalité des énumérations est fixée à 3 pour cette partie 2 de la SAE uniquement.
+ *
+ *  - Une table 3x3 permet de stocker 9 cartes. Au début de la partie, on dispose 9 cartes sur la table, piochées sur le dessus du paquet.
+ *
+ *  - A chaque tour, le joueur doit essayer de trouver un E3C.
+ *
+ *  - Le joueur doit désigner trois cartes par leurs coordonnées.
+ *      - Si ces cartes forment un E3C, il gagne trois points sur son score.
+ *      - Si ce n'est pas un E3C, il perd 1 point sur son score.
+ *
+ *   - Les trois cartes sont remplacées par de nouvelles cartes piochées dans le paquet.
+ *
+ *   - La partie se termine quand il n'y a plus de cartes dans le paquet (même s'il reste des cartes sur la table).
+ *
+ * On a donc besoin :
+ *
+ * - D'un paquet pour stocker toutes les cartes et avoir une pioche.
+ * - D'une table.
+ * - De quoi stocker le score du joueur (humain ou ordinateur).
+ */
+public class Jeu {
+
+    /**
+     * Table de complétion : pour deux codes de cartes c1 et c2 (voir Carte.getCode),
+     * TROISIEMES_CARTES[c1 * Carte.NB_CARTES + c2] est le code de l'unique carte qui forme un E3C avec elles.
+     * Pour chaque caractéristique, sa valeur est (-a-b) mod 3, a et b étant les valeurs des deux premières cartes.
+     */
+    private static final byte[] TROISIEMES_CARTES = new byte[Carte.NB_CARTES * Carte.NB_CARTES];
+
+    static {
+        for (int c1 = 0; c1 < Carte.NB_CARTES; c1++) {
+            for (int c2 = 0; c2 < Carte.NB_CARTES; c2++) {
+                int code = 0;
+                for (int poids = 27; poids >= 1; poids /= 3) {
+                    int a = (c1 / poids) % 3;
+                    int b = (c2 / poids) % 3;
+                    code += ((6 - a - b) % 3) * poids;
+                }
+                TROISIEMES_CARTES[c1 * Carte.NB_CARTES + c2] = (byte) code;
+            }
+        }
+    }
+
+    // caractéristiques des cartes du paquet standard (81 cartes)
+    private static final Couleur[] COULEURS = {Couleur.ROUGE, Couleur.BLEU, Couleur.JAUNE};
+    private static final Figure[] FIGURES = {Figure.OVALE, Figure.LOSANGE, Figure.CARRE};
+    private static final Texture[] TEXTURES = {Texture.PLEIN, Texture.VIDE, Texture.HACHURÉ};
+
+    // points gagnés pour un E3C, et perdus pour une sélection qui n'en est pas un
+    public static final int POINTS_E3C = 3;
+    public static final int PENALITE_ERREUR = 1;
+
+    private int score;
+    private Table table;
+    private Paquet paquet;
+    // générateur des mélanges du paquet et des sélections aléatoires de l'ordinateur
+    private RandomGenerator aleatoire;
+    // paquets standard préparés à l'avance (null si la réserve n'est pas activée)
+    private ReserveDePaquets reserve;
+
+    /**
+     * Action :
+     * - Initialise le jeu "E3Cète" en initialisant le score du joueur, le paquet et la table.
+     * - La table doit être remplie.
+     */
+
+    public Jeu(int hauteur, int largueur) {
+        this(hauteur, largueur, new SplittableRandom());
+    }
+
+    /**
+     * Action : Comme Jeu(hauteur, largeur), avec un générateur de graine fixée :
+     * deux jeux de même graine distribuent les mêmes cartes et font les mêmes sélections aléatoires.
+     */
+
+    public Jeu(int hauteur, int largeur, long graine) {
+        this(hauteur, largeur, new SplittableRandom(graine));
+    }
+
+    /**
+     * Action : Comme Jeu(hauteur, largeur), tous les tirages du jeu utilisant le générateur aleatoire.
+     * Le générateur ne doit pas être partagé avec un jeu joué dans un autre fil d'exécution
+     * (pour des parties en parallèle, donner à chaque jeu un SplittableRandom obtenu par split).
+     */
+
+    public Jeu(int hauteur, int largeur, RandomGenerator aleatoire) {
+        this.aleatoire = aleatoire;
+        this.resetJeu(hauteur, largeur);
+    }
+
+    /**
+     * Action : Pioche autant de cartes qu'il y a de numéros de cartes dans le tableau numerosDeCartes et les place
+     * aux positions correspondantes sur la table.
+     */
+
+    public void piocherEtPlacerNouvellesCartes(int[] numerosDeCartes) {
+        this.table.placerCartes(this.paquet, numerosDeCartes);
+    }
+
+    /**
+     * Pre-requis : capacite > 0
+     * Action : Démarre une réserve de capacite paquets mélangés à l'avance (voir ReserveDePaquets) :
+     * les appels suivants à resetJeu y prennent leur paquet au lieu de le construire.
+     * Les paquets de la réserve sont mélangés avec des générateurs issus d'une graine tirée ici avec
+     * le générateur du jeu, un jeu de graine fixée reste donc reproductible.
+     * Sans effet si la réserve est déjà démarrée.
+     */
+
+    public void demarrerReserveDePaquets(int capacite) {
+        if (this.reserve == null) {
+            this.reserve = new ReserveDePaquets(capacite, COULEURS, 3, FIGURES, TEXTURES,
+                    new SplittableRandom(this.aleatoire.nextLong()));
+        }
+    }
+
+    /**
+     * Action : Arrête la réserve de paquets si elle est démarrée ; resetJeu construit de nouveau ses paquets.
+     */
+
+    public void arreterReserveDePaquets() {
+        if (this.reserve != null) {
+            this.reserve.arreter();
+            this.reserve = null;
+        }
+    }
+
+    /**
+     * Action : Ré-initialise les données et variables du jeu afin de rejouer une nouvelle partie.
+     */
+
+    public void resetJeu(int hauteur, int largeur){
+        
+        this.score = 0;
+        if (this.reserve != null) {
+            this.paquet = this.reserve.prendre();
+        } else {
+            // mélange à la pioche : mêmes cartes qu'un mélange immédiat, sans payer les cartes jamais piochées
+            this.paquet = new Paquet(COULEURS, 3, FIGURES, TEXTURES, this.aleatoire, true);
+        }
+        // pas d'index des E3C (voir Table.activerIndexE3C) : sur une partie, où chaque tour modifie trois cases
+        // et ne fait qu'une recherche, la recherche quadratique sans index est plus rapide à toutes les tailles
+        this.table = new Table(hauteur,largeur);
+        int[] pioche = new int[this.table.getTaille()];
+        for (int i = 1; i <= this.table.getTaille(); i++){
+            pioche[i-1]=i;
+        }
+        this.piocherEtPlacerNouvellesCartes(pioche);
+    }
+
+    /**
+     * Pre-requis : entiers.length == 3.
+     * Résultat : Vrai si trois entiers du tableaux sont tous égaux ou 
+     * tous différents, faux sinon.
+     */
+
+    public static boolean entiersEgauxOuDifferents(int[] entiers){
+        if (entiers[0] == entiers[1] && entiers[0] == entiers[2]){
+            return true;
+        }
+        if (entiers[0] != entiers[1] && entiers[0] != entiers[2] && entiers[1] != entiers[2]){
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Pre-requis : 0 <= code1, code2 < Carte.NB_CARTES
+     * Résultat : Le code de l'unique carte qui forme un E3C avec les cartes de codes code1 et code2.
+     */
+
+    public static int getTroisiemeCarte(int code1, int code2) {
+        return TROISIEMES_CARTES[code1 * Carte.NB_CARTES + code2];
+    }
+
+    /**
+     * Pre-requis : 0 <= code1, code2, code3 < Carte.NB_CARTES
+     * Résultat : Vrai si les cartes de codes code1, code2 et code3 forment un E3C.
+     */
+
+    public static boolean estUnE3C(int code1, int code2, int code3) {
+        return TROISIEMES_CARTES[code1 * Carte.NB_CARTES + code2] == code3;
+    }
+
+    /**
+     * Résullat : Vrai si les cartes passées en paramètre forment un E3C.
+     * Les cartes de l'espace standard sont testées par la table de complétion, sans allocation.
+     */
+
+    public static boolean estUnE3C(Carte[] cartes) {
+        int code1 = cartes[0].getCode();
+        int code2 = cartes[1].getCode();
+        int code3 = cartes[2].getCode();
+        if (code1 >= 0 && code2 >= 0 && code3 >= 0) {
+            return estUnE3C(code1, code2, code3);
+        }
+        int[] couleursOrdinaux = {cartes[0].getCouleur().ordinal(),
+            cartes[1].getCouleur().ordinal(),cartes[2].getCouleur().ordinal()};
+        int[] nbFigures = {cartes[0].getNbFigures(),cartes[1].getNbFigures(),cartes[2].getNbFigures()};
+        int[] figuresOrdinaux = {cartes[0].getFigure().ordinal(),
+            cartes[1].getFigure().ordinal(),cartes[2].getFigure().ordinal()};
+        int[] texturesOrdinaux = {cartes[0].getTexture().ordinal(),
+            cartes[1].getTexture().ordinal(),cartes[2].getTexture().ordinal()};
+
+        if (entiersEgauxOuDifferents(couleursOrdinaux) && entiersEgauxOuDifferents(nbFigures)
+            && entiersEgauxOuDifferents(figuresOrdinaux) && entiersEgauxOuDifferents(texturesOrdinaux)){
+            return true;
+        } 
+        return false;
+    }
+
+    /**
+     * Action : Recherche un E3C parmi les cartes disposées sur la table.
+     * Si toutes les cartes de la table ont un code, la recherche indexée de la table (quadratique) est utilisée,
+     * sinon on se rabat sur la recherche exhaustive. Les deux renvoient le même triplet.
+     * Résullat :
+     *  - Si un E3C existe, un tableau contenant les numéros de cartes (de la table) qui forment un E3C.
+     *  - Sinon, la valeur null.
+     */
+
+    public int[] chercherE3CSurTableOrdinateur() {
+        if (this.table.estIndexable()) {
+            return this.table.chercherE3C();
+        }
+        return this.chercherE3CSurTableExhaustive();
+    }
+
+    /**
+     * Action : Recherche un E3C sur la table à l'aide des masques de bits de la table (voir MasquesE3C).
+     * Le premier appel active les masques de la table (voir Table.activerMasquesE3C) : jusqu'à la fin de la partie,
+     * ils sont mis à jour à chaque carte posée et les appels suivants ne les reconstruisent pas.
+     * Résullat : Le même triplet que chercherE3CSurTableOrdinateur, ou null s'il n'y a pas d'E3C.
+     */
+
+    public int[] chercherE3CSurTableParMasques() {
+        if (this.table.estIndexable()) {
+            this.table.activerMasquesE3C();
+            return this.table.chercherE3CParMasques();
+        }
+        return this.chercherE3CSurTableExhaustive();
+    }
+
+    /**
+     * Action : Recherche un E3C sur la table avec plusieurs fils d'exécution (voir Table.chercherE3CParallele).
+     * En mode deterministe, le résultat est le même que celui de chercherE3CSurTableOrdinateur.
+     * Résullat : Les numéros de cartes d'un E3C, ou null s'il n'y en a pas.
+     */
+
+    public int[] chercherE3CSurTableParallele(boolean deterministe) {
+        if (this.table.estIndexable()) {
+            return this.table.chercherE3CParallele(deterministe);
+        }
+        return this.chercherE3CSurTableExhaustive();
+    }
+
+    /**
+     * Action : Recherche un E3C en testant tous les triplets de cartes de la table (coût cubique).
+     * Résullat :
+     *  - Si un E3C existe, un tableau contenant les numéros de cartes (de la table) qui forment le premier E3C trouvé.
+     *  - Sinon, la valeur null.
+     */
+
+    public int[] chercherE3CSurTableExhaustive() {
+        Carte[] cartes = new Carte[3];
+        boolean trouve = false;
+        int i = 0;
+        int j = 1;
+        int k = 2;
+        int taille = this.table.getTaille();
+        int largeur = this.table.getLargeur();
+        while (i < taille-2 && !trouve){
+            if (this.table.getTableau()[i/largeur][i%largeur]!=null){
+                cartes[0] = this.table.getTableau()[i/largeur][i%largeur];
+                j = i+1;
+                while (j < taille-1 && !trouve){
+                    if (this.table.getTableau()[j/largeur][j%largeur]!=null){
+                        cartes[1] = this.table.getTableau()[j/largeur][j%largeur];
+                        k = j+1;
+                        while (k < taille && !trouve){
+                            if (this.table.getTableau()[k/largeur][k%largeur]!=null){
+                                cartes[2] = this.table.getTableau()[k/largeur][k%largeur];
+                                trouve = estUnE3C(cartes);
+                            }
+                            k++;
+                        } 
+                    }
+                    j++;
+                }
+            }
+            i++;
+        }
+        if (trouve){
+            int[]e3c = {i,j,k};
+            return e3c;
+        }
+        return null;
+    }
+
+    /**
+     * Action : Sélectionne alétoirement trois cartes sur la table.
+     * La sélection ne doit pas contenir de doublons
+     * Résullat : un tableau contenant les numéros des cartes sélectionnées alétaoirement
+     */
+
+    public int[] selectionAleatoireDeCartesOrdinateur() {
+        int taille = this.table.getTaille();
+        int[] selection = new int[3];
+        selection[0] = this.aleatoire.nextInt(1, taille + 1);
+        int random = this.aleatoire.nextInt(1, taille + 1);
+        while (random == selection[0]){
+            random = this.aleatoire.nextInt(1, taille + 1);
+        }
+        selection[1] = random;
+        while (random == selection[0] || random == selection[1]){
+            random = this.aleatoire.nextInt(1, taille + 1);
+        }
+        selection[2] = random;
+        return selection;
+    }
+
+    /**
+     * Résullat : Vrai si la partie en cours est terminée.
+     */
+
+    public boolean partieEstTerminee() {
+        if (this.paquet.getNbCartes() != 0) {
+            return false;
+        }
+        if (this.table.estIndexable()) {
+            return !this.table.contientE3C();
+        }
+        return this.chercherE3CSurTableExhaustive() == null;
+    }
+
+    /**
+     * Résultat : Vrai si selection désigne trois cartes différentes présentes sur la table
+     * (numéros entre 1 et la taille de la table), c'est-à-dire si appliquerSelection l'accepte.
+     */
+
+    public boolean estSelectionValide(int[] selection) {
+        if (selection == null || selection.length != 3) {
+            return false;
+        }
+        int taille = this.table.getTaille();
+        int largeur = this.table.getLargeur();
+        for (int i = 0; i < 3; i++) {
+            int numero = selection[i];
+            if (numero < 1 || numero > taille || this.table.getTableau()[(numero-1)/largeur][(numero-1)%largeur] == null) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (selection[j] == numero) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pre-requis : la partie n'est pas terminée.
+     * Action : Joue un tour avec les cartes de la table désignées par selection, sans aucun affichage ni saisie :
+     *  - Si c'est un E3C, le score augmente de POINTS_E3C.
+     *  - Sinon, il diminue de PENALITE_ERREUR.
+     * Les cartes sélectionnées sont ensuite remplacées par des cartes piochées dans le paquet.
+     * C'est le cœur du jeu : les tours humains et ordinateurs (console ou non) passent tous par cette méthode.
+     * Résultat : Le résultat du tour (voir ResultatTour).
+     * Lève une IllegalArgumentException si la sélection n'est pas valide (voir estSelectionValide) ;
+     * le jeu n'est alors pas modifié.
+     */
+
+    public ResultatTour appliquerSelection(int[] selection) {
+        if (!this.estSelectionValide(selection)) {
+            throw new IllegalArgumentException("Sélection invalide : " + Arrays.toString(selection));
+        }
+        int largeur = this.table.getLargeur();
+        Carte[] cartes = {this.table.getTableau()[(selection[0]-1)/largeur][(selection[0]-1)%largeur],
+                 this.table.getTableau()[(selection[1]-1)/largeur][(selection[1]-1)%largeur],
+                 this.table.getTableau()[(selection[2]-1)/largeur][(selection[2]-1)%largeur]};
+        boolean e3c = estUnE3C(cartes);
+        int variation = e3c ? POINTS_E3C : -PENALITE_ERREUR;
+        this.score += variation;
+        int nbCartesPiochees = this.table.placerCartes(this.paquet, selection);
+        return new ResultatTour(e3c, variation, this.score, selection, nbCartesPiochees);
+    }
+
+    /**
+     * Action : Choisit les cartes que joue l'ordinateur : un E3C de la table s'il y en a un,
+     * sinon trois cartes sélectionnées aléatoirement.
+     * Résullat : Les numéros des trois cartes choisies.
+     */
+
+    public int[] choisirSelectionOrdinateur() {
+        int[] e3c = this.chercherE3CSurTableOrdinateur();
+        if (e3c == null){
+            e3c = this.selectionAleatoireDeCartesOrdinateur();
+        }
+        return e3c;
+    }
+
+    /**
+     * Action : Affiche le score du joueur et la table, ligne par ligne.
+     */
+
+    private void afficherTableEtScore() {
+        int largeur = this.table.getLargeur();
+        System.out.println("Cherchez un E3C !");
+        System.out.println("Score : " + this.score);
+        for (int i = 1; i <= this.table.getTaille(); i+=largeur) {
+            int[] afficheLigne = new int[largeur];
+            for (int j = 0; j < largeur; j++){
+                afficheLigne[j] = i+j;
+            }
+            this.table.afficherSelection(afficheLigne);
+        }
+    }
+
+    /**
+     * Action : Fait jouer un tour à un joueur humain.
+     * La Table et le score du joueur sont affichés.
+     * Le joueur sélectionne 3 cartes.
+     *  - Si c'est un E3C, il gagne trois points.
+     *  - Sinon, il perd un point.
+     * Les cartes sélectionnées sont remplacées.
+     * Divers messages d'informations doivent être affichés pour l'ergonomie.
+     * Le tour lui-même est joué par appliquerSelection ; cette méthode ne fait que l'affichage et la saisie.
+     */
+
+    public void jouerTourHumain() {
+        this.afficherTableEtScore();
+        int[] jouer = this.table.selectionnerCartesJoueur(3);
+        ResultatTour resultat = this.appliquerSelection(jouer);
+        if (resultat.estUnE3C()) {
+            System.out.println("C'est bien un E3C, vous gagnez " + resultat.getVariationScore() + " points!");
+        }
+        else{
+            System.out.println("Ce n'était pas un E3C, vous perdez " + -resultat.getVariationScore() + " point!");
+        }
+    }
+
+    /**
+     * Action : Fait jouer une partie à un joueur humain.
+     * A la fin, le score final du joueur est affiché.
+     */
+
+    public void jouerHumain() {
+        while (!this.partieEstTerminee()){
+            this.jouerTourHumain();
+        }
+        System.out.println("Score final : " + this.score);
+        System.out.println("==================================");
+    }
+
+    /**
+     * Action : Fait jouer un tour à l'ordinateur.
+     * La Table et le score de l'ordinateur sont affichés.
+     * L'ordinateur sélectionne des cartes :
+     *  - L'ordinateur essaye toujours de trouver un E3C sur la table. S'il en trouve un, il gagne donc trois points.
+     *  - S'il n'en trouve pas, il se rabat sur 3 cartes sélectionnées aléatoirement et perd un point.
+     * Les cartes sélectionnées sont remplacées.
+     * Divers messages d'informations doivent être affichés pour l'ergonomie.
+     * Le tour lui-même est joué par appliquerSelection ; cette méthode ne fait que l'affichage.
+     */
+
+    public void jouerTourOrdinateur() {
+        this.afficherTableEtScore();
+        int[] e3c = this.choisirSelectionOrdinateur();
+        System.out.println("Cartes sélectionnées : "+e3c[0]+" "+e3c[1]+" "+e3c[2]);
+        ResultatTour resultat = this.appliquerSelection(e3c);
+        if (resultat.estUnE3C()) {
+            System.out.println("C'est bien un E3C, l'ordinateur gagne " + resultat.getVariationScore() + " points!");
+        }
+        else{
+            System.out.println("Ce n'était pas un E3C, l'ordinateur perd " + -resultat.getVariationScore() + " point!");
+        }
+    }
+
+    /**
+     * Action : Fait jouer un tour à l'ordinateur comme jouerTourOrdinateur, mais sans aucun affichage
+     * (pour enchaîner des parties le plus vite possible, voir PartiesOrdinateur).
+     * Résultat : Vrai si l'ordinateur a trouvé un E3C, faux s'il a dû sélectionner des cartes au hasard.
+     */
+
+    public boolean jouerTourOrdinateurSansAffichage() {
+        // l'ordinateur ne sélectionne au hasard que s'il n'y a aucun E3C sur la table
+        return this.appliquerSelection(this.choisirSelectionOrdinateur()).estUnE3C();
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Résultat : La table du jeu (pour afficher ou transmettre l'état de la partie sans passer par la console).
+     */
+
+    public Table getTable() {
+        return this.table;
+    }
+
+    /**
+     * Action : Fait jouer une partie à l'ordinateur.
+     * Une pause est faite entre chaque tour (500 ms ou plus) afin de pouvoir observer la progression de l'ordinateur.
+     * A la fin, le score final de l'ordinateur est affiché.
+     * Si le fil courant est interrompu (pendant une pause par exemple), la partie s'arrête avant le tour suivant
+     * et le score atteint est affiché.
+     * Rappel : Ut.pause(temps) permet de faire une pause de "temps" millisecondes
+     * (une interruption pendant la pause reste signalée au fil, voir Ut.pause)
+     */
+
+    public void jouerOrdinateur() {
+        while (!this.partieEstTerminee() && !Thread.currentThread().isInterrupted()){
+            this.jouerTourOrdinateur();
+            Ut.pause(1000);
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            System.out.println("Partie interrompue, score : " + this.score);
+        }
+        else {
+            System.out.println("Score final : " + this.score);
+        }
+        System.out.println("==================================");
+    }
+
+    /**
+     * Action : Permet de lancer des parties de "E3Cète" au travers d'un menu.
+     * Le menu permet au joueur de sélectionner une option parmi :
+     *  - humain : lance une partie avec un joueur humain
+     *  - ordinateur : lance une partie avec un ordinateur
+     *  - terminer : arrête le programme.
+     * Après la fin de chaque partie, les données de jeu sont ré-initialisées et le menu est ré-affiché
+     * (afin de faire une nouvelle sélection).
+     * Les erreurs de saisie doivent être gérées (si l'utilisateur sélectionne une option inexistante).
+     * Divers messages d'informations doivent être affichés pour l'ergonomie.
+     */
+
+    public void jouer() {
+        String reponse = "";
+        while (!"terminer".equals(reponse)){
+            System.out.println("Voulez vous jouer (tapez humain), faire jouer un ordinateur (ordinateur) ou arreter de jouer (terminer) ?");
+            reponse = Ut.saisirChaine();
+    
+            while (!"humain".equals(reponse) && !"ordinateur".equals(reponse) && !"terminer".equals(reponse)){
+                System.out.println("Retapez votre réponse (humain/ordinateur/terminer).");
+                reponse = Ut.saisirChaine();
+            }
+            if ("humain".equals(reponse)) {
+                System.out.println("Entrez la hauteur de la table : ");
+                int hauteur = Ut.saisirEntier();
+                System.out.println("Entrez la largeur de la table : ");
+                int largeur = Ut.saisirEntier();
+                this.resetJeu(hauteur, largeur);
+                this.jouerHumain();
+            }
+            else if ("ordinateur".equals(reponse)){
+                System.out.println("Entrez la hauteur de la table : ");
+                int hauteur = Ut.saisirEntier();
+                System.out.println("Entrez la largeur de la table : ");
+                int largeur = Ut.saisirEntier();
+                this.resetJeu(hauteur, largeur);
+                this.jouerOrdinateur();
+            }
+        }
+        this.arreterReserveDePaquets();
+    }
+
+    /**
+     * Pre-requis : nombreEssais > 0
+     * Résultat : La probabilité estimée qu'une table de la taille de la table du jeu, distribuée à partir
+     * d'un paquet complet, contienne exactement trois cartes rouges (voir SimulationMonteCarlo).
+     * Une table de plus de 81 cases ne reçoit que les 81 cartes du paquet.
+     * Le jeu en cours n'est pas modifié.
+     */
+
+    public float proba3CR(int nombreEssais) {
+        return this.estimer(SimulationMonteCarlo.TROIS_ROUGES, nombreEssais);
+    }
+
+    /**
+     * Pre-requis : nombreEssais > 0
+     * Résultat : La probabilité estimée qu'une table de la taille de la table du jeu, distribuée à partir
+     * d'un paquet complet, contienne au moins un E3C (voir SimulationMonteCarlo).
+     * Une table de plus de 81 cases ne reçoit que les 81 cartes du paquet.
+     * Le jeu en cours n'est pas modifié.
+     */
+
+    public float probaE3C(int nombreEssais) {
+        return this.estimer(SimulationMonteCarlo.CONTIENT_E3C, nombreEssais);
+    }
+
+    private float estimer(EvenementTable evenement, int nombreEssais) {
+        SimulationMonteCarlo simulation = new SimulationMonteCarlo(this.table.getHauteur(), this.table.getLargeur(),
+                this.aleatoire.nextLong());
+        return (float) simulation.estimer(evenement, nombreEssais).getProbabilite();
+    }
+}
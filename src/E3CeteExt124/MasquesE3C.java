@@ -0,0 +1,167 @@
+/**
+ * La classe MasquesE3C représente les cartes d'une Table sous forme de masques de bits ("bit-slicing").
+ *
+ * Pour chacune des 12 valeurs de caractéristiques (3 couleurs, 1 à 3 figures, 3 figures, 3 textures),
+ * on garde l'ensemble des cases de la table qui la possèdent : le bit i du masque vaut 1 si la carte numéro i+1
+ * a cette valeur. Une table de n cases utilise ceil(n/64) mots "long" par valeur.
+ *
+ * Pour une paire de cartes (i,j), la carte complétant l'E3C a, pour chaque caractéristique, la valeur (-a-b) mod 3.
+ * Les cases qui la contiennent sont donc l'intersection (ET) de 4 masques, restreinte aux cases après j :
+ * on teste 64 cases par opération au lieu d'appeler les accesseurs de chaque carte.
+ */
+public class MasquesE3C {
+
+    private static final int NB_CARACTERISTIQUES = 4;
+
+    private int taille;
+    private int nbMots;
+    // masques[(caracteristique * 3 + valeur) * nbMots + mot]
+    private long[] masques;
+    private int[] codes;
+
+    /**
+     * Pre-requis : codes[i] est le code de la carte numéro i+1 de la table, ou -1 si la case est vide.
+     * Action : Construit les masques des cartes de codes "codes".
+     * Le tableau "codes" n'est pas modifié : c'est la table qui le met à jour (voir retirer et ajouter).
+     */
+
+    public MasquesE3C(int[] codes) {
+        this.codes = codes;
+        this.taille = codes.length;
+        this.nbMots = (codes.length + 63) >>> 6;
+        this.masques = new long[NB_CARACTERISTIQUES * 3 * this.nbMots];
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] >= 0) {
+                this.ajouter(i);
+            }
+        }
+    }
+
+    /**
+     * Action : Met à 1 (ajouter) ou à 0 (retirer) le bit de la case numeroCase (indice à partir de 0)
+     * dans les 4 masques correspondant aux valeurs de sa carte.
+     * Il faut appeler retirer avant de changer codes[numeroCase] et ajouter après.
+     */
+
+    public void ajouter(int numeroCase) {
+        this.basculer(numeroCase, true);
+    }
+
+    public void retirer(int numeroCase) {
+        if (this.codes[numeroCase] >= 0) {
+            this.basculer(numeroCase, false);
+        }
+    }
+
+    private void basculer(int numeroCase, boolean present) {
+        int code = this.codes[numeroCase];
+        int mot = numeroCase >>> 6;
+        long bit = 1L << numeroCase;
+        for (int caracteristique = NB_CARACTERISTIQUES - 1; caracteristique >= 0; caracteristique--) {
+            int indice = (caracteristique * 3 + code % 3) * this.nbMots + mot;
+            if (present) {
+                this.masques[indice] |= bit;
+            } else {
+                this.masques[indice] &= ~bit;
+            }
+            code /= 3;
+        }
+    }
+
+    /**
+     * Résultat : Le plus petit E3C (dans l'ordre des numéros) sous forme de numéros de cartes (à partir de 1),
+     * ou null s'il n'y en a pas.
+     */
+
+    public int[] chercherE3C() {
+        int[] valeurs = new int[NB_CARACTERISTIQUES];
+        for (int i = 0; i < this.taille - 2; i++) {
+            int codeI = this.codes[i];
+            if (codeI >= 0) {
+                for (int j = i + 1; j < this.taille - 1; j++) {
+                    int codeJ = this.codes[j];
+                    if (codeJ >= 0) {
+                        int k = this.chercherApres(Jeu.getTroisiemeCarte(codeI, codeJ), j + 1, valeurs);
+                        if (k != -1) {
+                            int[] e3c = {i + 1, j + 1, k + 1};
+                            return e3c;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Résultat : Le nombre d'E3C présents sur la table, en comptant les bits des intersections de masques.
+     */
+
+    public long compterE3C() {
+        int[] valeurs = new int[NB_CARACTERISTIQUES];
+        long nombre = 0;
+        for (int i = 0; i < this.taille - 2; i++) {
+            int codeI = this.codes[i];
+            if (codeI >= 0) {
+                for (int j = i + 1; j < this.taille - 1; j++) {
+                    int codeJ = this.codes[j];
+                    if (codeJ >= 0) {
+                        this.decomposer(Jeu.getTroisiemeCarte(codeI, codeJ), valeurs);
+                        for (int mot = (j + 1) >>> 6; mot < this.nbMots; mot++) {
+                            nombre += Long.bitCount(this.intersection(valeurs, mot) & masqueApres(j + 1, mot));
+                        }
+                    }
+                }
+            }
+        }
+        return nombre;
+    }
+
+    /**
+     * Résultat : La plus petite case (indice à partir de 0) supérieure ou égale à debut contenant la carte de code
+     * "code", ou -1 s'il n'y en a pas. "valeurs" sert de tableau de travail.
+     */
+
+    private int chercherApres(int code, int debut, int[] valeurs) {
+        this.decomposer(code, valeurs);
+        for (int mot = debut >>> 6; mot < this.nbMots; mot++) {
+            long cases = this.intersection(valeurs, mot) & masqueApres(debut, mot);
+            if (cases != 0) {
+                return (mot << 6) + Long.numberOfTrailingZeros(cases);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Action : Place dans "valeurs" les indices de masques (caracteristique * 3 + valeur) des valeurs de la carte.
+     */
+
+    private void decomposer(int code, int[] valeurs) {
+        for (int caracteristique = NB_CARACTERISTIQUES - 1; caracteristique >= 0; caracteristique--) {
+            valeurs[caracteristique] = (caracteristique * 3 + code % 3) * this.nbMots;
+            code /= 3;
+        }
+    }
+
+    /**
+     * Résultat : Le mot "mot" de l'ensemble des cases possédant toutes les valeurs "valeurs".
+     */
+
+    private long intersection(int[] valeurs, int mot) {
+        return this.masques[valeurs[0] + mot] & this.masques[valeurs[1] + mot]
+                & this.masques[valeurs[2] + mot] & this.masques[valeurs[3] + mot];
+    }
+
+    /**
+     * Résultat : Le mot "mot" de l'ensemble des cases d'indice supérieur ou égal à debut.
+     */
+
+    private static long masqueApres(int debut, int mot) {
+        int premierBit = debut - (mot << 6);
+        if (premierBit <= 0) {
+            return -1L;
+        }
+        return -1L << premierBit;
+    }
+}
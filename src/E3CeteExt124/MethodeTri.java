@@ -0,0 +1,43 @@
+/**
+ * Représente les méthodes de tri disponibles pour un Paquet.
+ * Chaque méthode est une StrategieTri qui appelle la méthode de tri correspondante de Paquet.
+ */
+public enum MethodeTri implements StrategieTri {
+
+    SELECTION {
+        public Paquet trier(Paquet paquet, CompteursTri compteurs) {
+            return paquet.trierSelection(compteurs);
+        }
+    },
+    BULLES {
+        public Paquet trier(Paquet paquet, CompteursTri compteurs) {
+            return paquet.trierBulles(compteurs);
+        }
+    },
+    INSERTION {
+        public Paquet trier(Paquet paquet, CompteursTri compteurs) {
+            return paquet.trierInsertion(compteurs);
+        }
+    },
+    COMPTAGE {
+        public Paquet trier(Paquet paquet, CompteursTri compteurs) {
+            return paquet.trierComptage(compteurs);
+        }
+    },
+    RADIX {
+        public Paquet trier(Paquet paquet, CompteursTri compteurs) {
+            return paquet.trierRadix(compteurs);
+        }
+    },
+    PARALLELE {
+        public Paquet trier(Paquet paquet, CompteursTri compteurs) {
+            return paquet.trierParallele(Carte::compareTo, compteurs);
+        }
+    };
+
+    public Paquet trier(Paquet paquet) {
+        return this.trier(paquet, null);
+    }
+
+    public abstract Paquet trier(Paquet paquet, CompteursTri compteurs);
+}
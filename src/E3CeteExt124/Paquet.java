@@ -1,288 +1,1031 @@
-import java.util.Random;
-
-/**
- * La classe Paquet représente un paquet de cartes.
- * Les cartes sont stockées dans un tableau fixe et un indice (entier) permet de connaître le nombre de cartes
- * restantes (non piochées) dans le paquet. Quand on pioche, cet indice diminue.
- * Dans les traitements, on considère alors seulement les cartes se trouvant entre 0 et cet indice (exclus).
- * Par conséquent, on ne supprime pas vraiment les cartes piochées, on les ignore juste.
- * On a donc besoin de connaître :
- * - Le tableau stockant les cartes.
- * - Le nombre de cartes restantes dans le paquet.
- */
-public class Paquet {
-
-
-    private Carte[] cartes;
-    private int nbCartes;
-
-    /**
-     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
-     *
-     * Action : Construit un paquet de cartes mélangé contenant toutes les cartes incluant 1 à nbFiguresMax figures
-     * qu'il est possibles de créer en combinant les différentes figures, couleurs et textures précisées en paramètre.
-     * Bien sûr, il n'y a pas de doublons.
-     *
-     * Exemple :
-     *  - couleurs = [Rouge, Jaune]
-     *  - nbFiguresMax = 2
-     *  - figures = [A, B]
-     *  - textures = [S, T]
-     *  Génère un paquet (mélangé) avec toutes les combinaisons de cartes possibles pour ces caractéristiques : 1-A-S (rouge), 1-A-T (rouge), etc...
-     */
-
-    public Paquet(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
-        int nombreCartes = getNombreCartesAGenerer(couleurs, nbFiguresMax, figures, textures);
-        this.cartes = new Carte[nombreCartes];
-        int x = 0;
-        for (int i = 0; i < couleurs.length; i++) {
-            for (int j = 1; j <= nbFiguresMax; j++) {
-                for (int k = 0; k < figures.length; k++) {
-                    for (int l = 0; l < textures.length; l++) {
-                        this.cartes[x++] = new Carte(couleurs[i], j, figures[k], textures[l]);
-                    }
-                }
-            }
-        }
-        this.nbCartes = nombreCartes;
-        this.melanger();
-    }
-    
-    /**
-     * Action : Construit un paquet par recopie en copiant les données du paquet passé en paramètre.
-     */
-
-    public Paquet(Paquet paquet) {
-        this.cartes = new Carte[paquet.cartes.length];
-        for (int i = 0; i < paquet.cartes.length; i++){
-            this.cartes[i] = new Carte(paquet.cartes[i]);
-        }
-        this.nbCartes = paquet.nbCartes;
-    }
-
-
-    /**
-     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
-     *
-     * Resultat : Le nombre de cartes uniques contenant entre 1 et nbFiguresMax figures qu'il est possible de générer en
-     * combinant les différentes figures, couleurs et textures précisées en paramètre.
-     */
-
-    public static int getNombreCartesAGenerer(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
-        int nombre = couleurs.length * nbFiguresMax * figures.length * textures.length;
-        return nombre;
-    }   
-
-    public int getNbCartes(){
-        return this.nbCartes;
-    }
-
-    /**
-     * Action : Mélange aléatoirement les cartes restantes dans le paquet.
-     * Attention, on rappelle que le paquet peut aussi contenir des cartes déjà piochées qu'il faut ignorer.
-     */
-
-    public void melanger() {
-        for (int i = this.nbCartes - 1; i > 0; i--) {
-            int ran = Ut.randomMinMax(0, i);
-            Carte temp = this.cartes[i];
-            this.cartes[i] = this.cartes[ran];
-            this.cartes[ran] = temp;
-        }
-    }
-
-    
-
-
-    /**
-     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri selection.
-     * Le tri est effectué à partir des données du paquet courant (this) mais celui-ci ne doit pas être modifié !
-     * Une nouvelle instance du paquet est traitée et renvoyée.
-     * On rappelle que le paquet peut aussi contenir des cartes déjà piochées  qu'il faut ignorer (voir partie 2 de la SAE).
-     * Le tri doit fonctionner que le Paquet soit plein ou non.
-     * https://www.youtube.com/watch?v=Ns4TPTC8whw&t=2s vidéo explicative
-     */
-
-    public Paquet trierSelection() {
-        Paquet paquetCopie = new Paquet(this);
-        for (int i = 0; i < this.nbCartes-1; i++){
-            for (int j = i+1; j < this.nbCartes; j++){
-                if (paquetCopie.cartes[i].compareTo(paquetCopie.cartes[j]) > 0){
-                    Carte tmp = new Carte(paquetCopie.cartes[j]);
-                    paquetCopie.cartes[j] = new Carte(paquetCopie.cartes[i]);
-                    paquetCopie.cartes[i] = new Carte(tmp);
-                }
-            }
-        }
-        return paquetCopie;
-    }
-
-    /**
-     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri bulles.
-     * Le tri est effectué à partir des données du paquet courant (this) mais celui-ci ne doit pas être modifié !
-     * Une nouvelle instance du paquet est traitée et renvoyée.
-     * On rappelle que le paquet peut aussi contenir des cartes déjà piochées  qu'il faut ignorer (voir partie 2 de la SAE).
-     * Le tri doit fonctionner que le Paquet soit plein ou non.
-     * https://www.youtube.com/watch?v=lyZQPjUT5B4&embeds_referring_euri=https%3A%2F%2Fwww.developpez.com%2F&source_ve_path=Mjg2NjY&feature=emb_logo
-     * vidéo explicative
-     */
-
-    public Paquet trierBulles() {
-        Paquet paquetCopie = new Paquet(this);
-        for (int i = 0; i < this.nbCartes-1; i++){
-            for (int j = 0; j < this.nbCartes-1-i; j++){
-                if (paquetCopie.cartes[j].compareTo(paquetCopie.cartes[j+1]) > 0){
-                    Carte tmp = new Carte(paquetCopie.cartes[j+1]);
-                    paquetCopie.cartes[j+1] = new Carte(paquetCopie.cartes[j]);
-                    paquetCopie.cartes[j] = new Carte(tmp);
-                }
-            }
-        }
-        return paquetCopie;
-    }
-
-    /**
-     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri insertion.
-     * Le tri est effectué à partir des données du paquet courant (this) mais celui-ci ne doit pas être modifié !
-     * Une nouvelle instance du paquet est traitée et renvoyée.
-     * On rappelle que le paquet peut aussi contenir des cartes déjà piochées  qu'il faut ignorer (voir partie 2 de la SAE).
-     * Le tri doit fonctionner que le Paquet soit plein ou non.
-     * https://www.youtube.com/watch?v=ROalU379l3U&t=1s : vidéo explicative
-     */
-
-    public Paquet trierInsertion() {
-        Paquet paquetCopie = new Paquet(this);
-        for (int i = 1; i < this.nbCartes; i++) {
-            Carte carteActuelle = new Carte(paquetCopie.cartes[i]);
-            int j = i - 1;
-            while (j >= 0 && paquetCopie.cartes[j].compareTo(carteActuelle) > 0) {
-                paquetCopie.cartes[j+1] = new Carte(paquetCopie.cartes[j]);
-                j--;
-            }
-            paquetCopie.cartes[j+1] = new Carte(carteActuelle);
-        }
-        return paquetCopie;
-    }
-
-    public boolean estTriee() {
-        int i = 0;
-        while (i < this.nbCartes-2 && this.cartes[i].compareTo(this.cartes[i + 1]) <= 0) {
-            i++;
-        }
-        if (this.cartes[i].compareTo(this.cartes[i + 1]) > 0){
-            return false;
-        }
-        return true;
-    }
-
-    /**
-     * Action : Permet de tester les différents tris.
-     * On doit s'assurer que chaque tri permette effectivement de trier un paquet mélangé.
-     * Des messages d'informations devront être affichés.
-     * La méthode est "static" et ne s'effectue donc pas sur la paquet courant "this".
-     */
-    public static void testTris() {
-        Couleur[] couleurs = {Couleur.ROUGE, Couleur.JAUNE};
-        Figure[] figures = {Figure.OVALE, Figure.LOSANGE};
-        Texture[] textures = {Texture.PLEIN, Texture.VIDE};
-        int nbFiguresMax = 2;
-        Paquet paquetTest = new Paquet(couleurs, nbFiguresMax, figures, textures);
-    
-        long startTime, endTime, tempsExec;
-
-        startTime = System.nanoTime();
-        Paquet triSelection = paquetTest.trierSelection();
-        endTime = System.nanoTime();
-        tempsExec = (endTime - startTime) / 1000000;
-        System.out.print("Tri sélection: ");
-        System.out.println(triSelection.estTriee() ? "OK" : "Echec");
-        System.out.println("Temps d'éxecution de tri sélection: " + tempsExec + " ms.");
-    
-        startTime = System.nanoTime();
-        Paquet triBulles = paquetTest.trierBulles();
-        endTime = System.nanoTime();
-        tempsExec = (endTime - startTime) / 1000000;
-        System.out.print("Tri bulles: ");
-        System.out.println(triBulles.estTriee() ? "OK" : "Echec");
-        System.out.println("Temps d'éxecution de tri bulles: " + tempsExec + " ms.");
-
-        startTime = System.nanoTime();
-        Paquet triInsertion = paquetTest.trierInsertion();
-        endTime = System.nanoTime();
-        tempsExec = (endTime - startTime) / 1000000;
-        System.out.print("Tri insertion: ");
-        System.out.println(triInsertion.estTriee() ? "OK" : "Echec");
-        System.out.println("Temps d'éxecution de tri insertion: " + tempsExec + " ms.");
-    }
-
-    /**
-     * Pre-requis : 0 < nbCartes <= nombre de cartes restantes dans le paquet.
-     *
-     * Action : Pioche nbCartes Cartes au dessus du Paquet this (et met à jour son état).
-     *
-     * Résultat : Un tableau contenant les nbCartes Cartes piochees dans le Paquet.
-     *
-     * Exemple :
-     * Contenu paquet : [A,B,C,D,E,F,G]
-     * Nombre de cartes restantes : 5. On considère donc seulement les cartes de 0 à 4.
-     *
-     * piocher(3)
-     * Contenu paquet : [A,B,C,D,E,F,G]
-     * Nombre de cartes restantes : 2
-     * Renvoie [E,D,C]
-     */
-
-    public Carte[] piocher(int nbCartes) {
-        Carte[] cartesPiochees = new Carte[nbCartes];
-        for (int i = 0; i < nbCartes; i++){
-            cartesPiochees[i] = this.cartes[this.nbCartes-1];
-            this.nbCartes--;
-        }
-        return cartesPiochees;
-    }
-
-    /**
-     * Résultat : Vrai s'il reste assez de cartes dans le paquet pour piocher nbCartes.
-     */
-
-    public boolean peutPiocher(int nbCartes) {
-        if (this.nbCartes < nbCartes){
-            return false;
-        }
-        return true;
-    }
-
-    /**
-     * Résultat : Vrai s'il ne reste plus aucune cartes dans le paquet.
-     */
-
-    public boolean estVide() {
-        if (this.nbCartes==0){
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Résultat : Une chaîne de caractères représentant le paquet sous la forme d'un tableau
-     * [X, Y, Z...] représentant les cartes restantes dans le paquet.
-     *
-     * Exemple :
-     * Contenu paquet : 1-O-P (rouge), 2-C-V (jaune), 3-L-P (jaune), 3-L-P (rouge), 1-L-V (bleu)
-     * Nombre de cartes restantes : 3
-     * Retourne [1-O-P, 2-C-V, 3-L-P] (et chaque représentation d'une carte est coloré selon la couleur de la carte...)
-     */
-
-    @Override
-    public String toString() {
-        String str = "["; 
-        for (int i = 0; i < this.nbCartes-1; i++){
-            str += this.cartes[i].toString();
-            if (i < this.nbCartes-2){
-                str += ", ";
-            }
-        }
-        str += "]";
-        return str;
-    }
-}
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * La classe Paquet représente un paquet de cartes.
+ * Les cartes sont stockées dans un tableau fixe et un indice (entier) permet de connaître le nombre de cartes
+ * restantes (non piochées) dans le paquet. Quand on pioche, cet indice diminue.
+ * Pour occuper peu de mémoire (un paquet peut contenir plusieurs jeux, voir le constructeur "sabot"), chaque carte
+ * est stockée par son indice dans le catalogue des cartes différentes du paquet : sur un octet si le catalogue
+ * a au plus 256 cartes (cas courant, 81 pour le jeu standard), sur deux octets sinon (au plus 65 536).
+ * Dans les traitements, on considère alors seulement les cartes se trouvant entre 0 et cet indice (exclus).
+ * Par conséquent, on ne supprime pas vraiment les cartes piochées, on les ignore juste.
+ * On a donc besoin de connaître :
+ * - Le tableau stockant les cartes.
+ * - Le nombre de cartes restantes dans le paquet.
+ */
+public class Paquet {
+
+
+    // cartes différentes du paquet, par ordre croissant (compareTo) : comparer deux indices revient à comparer les cartes
+    private Carte[] catalogue;
+    // cartes[i] est l'indice (non signé) de la i-ème carte dans catalogue, si le catalogue tient sur un octet
+    private byte[] cartes;
+    // sinon (cartes vaut alors null), cartesLarges[i] est cet indice sur deux octets
+    private short[] cartesLarges;
+    private int nbCartes;
+    // générateur utilisé par melanger (fourni à la construction pour des mélanges reproductibles)
+    private RandomGenerator aleatoire;
+    // nombre de cartes différentes dont l'indice tient sur un octet non signé
+    private static final int NB_CARTES_DIFFERENTES_OCTET = 256;
+    // nombre de cartes différentes dont l'indice tient sur deux octets non signés
+    private static final int NB_CARTES_DIFFERENTES_MAX = 65536;
+    // taille maximale d'un tableau en pratique
+    private static final int NB_CARTES_MAX = Integer.MAX_VALUE - 8;
+    // taille maximale d'un paquet trié par insertion dans trier()
+    private static final int NB_CARTES_TRI_INSERTION = 32;
+    // vrai si les cartes restantes ne sont pas encore mélangées : chaque pioche tire alors sa carte au hasard
+    private boolean melangeALaPioche;
+
+    /**
+     * Un jeu de cartes non mélangé (ordre de génération), prêt à être recopié, et la clé de sa configuration
+     * (voir getCleModele). Le paquet n'est jamais modifié.
+     */
+    private static final class ModeleJeu {
+        private final long cle;
+        private final Paquet jeu;
+
+        private ModeleJeu(long cle, Paquet jeu) {
+            this.cle = cle;
+            this.jeu = jeu;
+        }
+    }
+
+    // nombre de configurations (couleurs, nbFiguresMax, figures, textures) gardées en cache
+    private static final int NB_MODELES_MAX = 16;
+    // cache des modèles de jeux par clé de configuration (sans verrou) : au-delà de NB_MODELES_MAX configurations,
+    // une configuration quelconque est retirée pour chaque nouvelle
+    private static final ConcurrentHashMap<Long, ModeleJeu> MODELES = new ConcurrentHashMap<>();
+    // base des chiffres d'une clé de configuration : un chiffre par valeur de caractéristique, plus le séparateur 0
+    private static final int BASE_CLE = 1 + Math.max(Couleur.values().length,
+            Math.max(Figure.values().length, Texture.values().length));
+    // dernier modèle demandé : construire plusieurs paquets de la même configuration ne consulte pas MODELES
+    private static volatile ModeleJeu dernierModele;
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
+     *
+     * Action : Construit un paquet de cartes mélangé contenant toutes les cartes incluant 1 à nbFiguresMax figures
+     * qu'il est possibles de créer en combinant les différentes figures, couleurs et textures précisées en paramètre.
+     * Bien sûr, il n'y a pas de doublons.
+     *
+     * Exemple :
+     *  - couleurs = [Rouge, Jaune]
+     *  - nbFiguresMax = 2
+     *  - figures = [A, B]
+     *  - textures = [S, T]
+     *  Génère un paquet (mélangé) avec toutes les combinaisons de cartes possibles pour ces caractéristiques : 1-A-S (rouge), 1-A-T (rouge), etc...
+     */
+
+    public Paquet(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
+        this(couleurs, nbFiguresMax, figures, textures, new SplittableRandom());
+    }
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
+     *
+     * Action : Comme le constructeur précédent, mais le paquet est mélangé (maintenant et à chaque appel de melanger)
+     * avec le générateur aleatoire. Deux paquets construits avec des générateurs de même graine sont identiques.
+     * Le générateur ne doit pas être utilisé en même temps par plusieurs fils d'exécution
+     * (pour des simulations parallèles, donner à chaque paquet son propre générateur, par exemple avec SplittableRandom.split).
+     */
+
+    public Paquet(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures, RandomGenerator aleatoire) {
+        this(couleurs, nbFiguresMax, figures, textures, aleatoire, false);
+    }
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
+     *
+     * Action : Comme le constructeur précédent. Si melangeALaPioche est vrai, le mélange n'est pas fait à la
+     * construction mais carte par carte au moment de piocher (voir melangerALaPioche) : construire le paquet
+     * puis n'en piocher que quelques cartes ne coûte alors que le prix de ces cartes.
+     */
+
+    public Paquet(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures, RandomGenerator aleatoire,
+                  boolean melangeALaPioche) {
+        this(couleurs, nbFiguresMax, figures, textures, 1, aleatoire, melangeALaPioche);
+    }
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0, nbJeux > 0
+     *
+     * Action : Construit un "sabot" : un paquet contenant nbJeux exemplaires de chacune des cartes du constructeur
+     * précédent, mélangés ensemble (maintenant ou à la pioche, voir melangerALaPioche).
+     * Chaque carte occupant un octet (deux au-delà de 256 cartes différentes), un sabot de 10 000 jeux de 81 cartes occupe environ 800 Ko.
+     * Lève une IllegalArgumentException si le sabot dépasse la taille maximale d'un tableau
+     * ou s'il contient plus de 65 536 cartes différentes.
+     */
+
+    public Paquet(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures, int nbJeux,
+                  RandomGenerator aleatoire, boolean melangeALaPioche) {
+        int nombreCartesJeu = getNombreCartesAGenerer(couleurs, nbFiguresMax, figures, textures);
+        if (nbJeux <= 0 || nombreCartesJeu > NB_CARTES_MAX / nbJeux) {
+            throw new IllegalArgumentException("Impossible de construire un paquet de " + nbJeux + " jeux de "
+                    + nombreCartesJeu + " cartes");
+        }
+        this.aleatoire = aleatoire;
+        Paquet modele = getModeleJeu(couleurs, nbFiguresMax, figures, textures).jeu;
+        int nbCartesJeu = modele.nbCartes;
+        this.catalogue = modele.catalogue;
+        this.nbCartes = nbCartesJeu * nbJeux;
+        this.allouerCartes(this.nbCartes);
+        for (int i = 0; i < nbJeux; i++) {
+            // même catalogue, donc même taille d'indice
+            if (this.cartes != null) {
+                System.arraycopy(modele.cartes, 0, this.cartes, i * nbCartesJeu, nbCartesJeu);
+            } else {
+                System.arraycopy(modele.cartesLarges, 0, this.cartesLarges, i * nbCartesJeu, nbCartesJeu);
+            }
+        }
+        if (melangeALaPioche) {
+            this.melangerALaPioche();
+        } else {
+            this.melanger();
+        }
+    }
+    
+    /**
+     * Action : Construit un paquet (non mélangé) contenant les cartes passées en paramètre, dans cet ordre.
+     * La dernière carte du tableau est le dessus du paquet (la première piochée).
+     */
+
+    public Paquet(Carte[] cartes) {
+        this.catalogue = creerCatalogue(cartes);
+        this.nbCartes = cartes.length;
+        this.allouerCartes(cartes.length);
+        this.indexer(cartes);
+        this.aleatoire = new SplittableRandom();
+    }
+
+    /**
+     * Action : Construit un paquet par recopie en copiant les données du paquet passé en paramètre.
+     * Les cartes étant immuables, le catalogue est partagé entre les deux paquets : seul le tableau d'indices est copié.
+     * La copie a son propre générateur, issu de celui de paquet (voir separer) : les deux paquets peuvent être
+     * mélangés ou piochés dans des fils d'exécution différents, et une copie d'un paquet de graine fixée
+     * reste reproductible.
+     * Si paquet est mélangé à la pioche, la copie l'est aussi (avec son générateur) : les cartes de paquet
+     * ne sont pas modifiées.
+     */
+
+    public Paquet(Paquet paquet) {
+        this(paquet, separer(paquet.aleatoire));
+    }
+
+    /**
+     * Action : Copie les cartes de paquet et l'état de son mélange à la pioche (cartes restantes pas encore mélangées),
+     * la copie utilisant le générateur aleatoire. paquet n'est pas modifié.
+     */
+
+    private Paquet(Paquet paquet, RandomGenerator aleatoire) {
+        this.catalogue = paquet.catalogue;
+        this.cartes = paquet.cartes == null ? null : paquet.cartes.clone();
+        this.cartesLarges = paquet.cartesLarges == null ? null : paquet.cartesLarges.clone();
+        this.nbCartes = paquet.nbCartes;
+        this.melangeALaPioche = paquet.melangeALaPioche;
+        this.aleatoire = aleatoire;
+    }
+
+    /**
+     * Résultat : Une copie de this destinée à être triée : les mêmes cartes restantes (leur ordre n'importe pas),
+     * sans mélange à la pioche. Ni les cartes, ni le générateur de this ne sont modifiés :
+     * trier un paquet ne change pas les cartes qu'il piochera ensuite.
+     */
+
+    private Paquet copierPourTri() {
+        Paquet copie = new Paquet(this, new SplittableRandom());
+        copie.melangeALaPioche = false;
+        return copie;
+    }
+
+    /**
+     * Action : Tire du générateur aleatoire un nouveau générateur indépendant (l'état de aleatoire avance).
+     * Résultat : aleatoire.split() si le générateur peut être scindé, sinon un SplittableRandom dont la graine
+     * est tirée avec aleatoire.
+     */
+
+    private static RandomGenerator separer(RandomGenerator aleatoire) {
+        if (aleatoire instanceof RandomGenerator.SplittableGenerator generateur) {
+            return generateur.split();
+        }
+        return new SplittableRandom(aleatoire.nextLong());
+    }
+
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
+     *
+     * Resultat : Le nombre de cartes uniques contenant entre 1 et nbFiguresMax figures qu'il est possible de générer en
+     * combinant les différentes figures, couleurs et textures précisées en paramètre.
+     */
+
+    public static int getNombreCartesAGenerer(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
+        // calcul exact : lève une ArithmeticException plutôt que de renvoyer un nombre faux
+        int nombre = Math.multiplyExact(Math.multiplyExact(couleurs.length, nbFiguresMax),
+                Math.multiplyExact(figures.length, textures.length));
+        return nombre;
+    }
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
+     * Résultat : Le modèle du jeu de cette configuration, pris dans le cache s'il y est (voir MODELES),
+     * sinon généré (toutes les combinaisons, dans l'ordre des paramètres) et ajouté au cache.
+     * Aucun verrou n'est pris et, pour la configuration demandée juste avant, aucun objet n'est créé.
+     */
+
+    private static ModeleJeu getModeleJeu(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
+        long cle = getCleModele(couleurs, nbFiguresMax, figures, textures);
+        ModeleJeu modele = dernierModele;
+        if (modele != null && modele.cle == cle) {
+            return modele;
+        }
+        if (cle < 0) {
+            // configuration trop grande pour une clé : pas de cache
+            return new ModeleJeu(cle, genererJeu(couleurs, nbFiguresMax, figures, textures));
+        }
+        modele = MODELES.get(cle);
+        if (modele == null) {
+            if (MODELES.size() >= NB_MODELES_MAX) {
+                // une seule configuration est retirée : les autres restent en cache
+                Iterator<Long> cles = MODELES.keySet().iterator();
+                if (cles.hasNext()) {
+                    MODELES.remove(cles.next());
+                }
+            }
+            ModeleJeu nouveau = new ModeleJeu(cle, genererJeu(couleurs, nbFiguresMax, figures, textures));
+            // si un autre fil a généré le même modèle entre-temps, le sien est gardé (les deux sont identiques)
+            modele = MODELES.putIfAbsent(cle, nouveau);
+            if (modele == null) {
+                modele = nouveau;
+            }
+        }
+        dernierModele = modele;
+        return modele;
+    }
+
+    /**
+     * Pre-requis : figures.length > 0, couleurs.length > 0, textures.length > 0, nbFiguresMax > 0
+     * Résultat : Le paquet non mélangé de toutes les cartes de cette configuration, dans l'ordre des paramètres.
+     */
+
+    private static Paquet genererJeu(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
+        Carte[] jeu = new Carte[getNombreCartesAGenerer(couleurs, nbFiguresMax, figures, textures)];
+        int x = 0;
+        for (int i = 0; i < couleurs.length; i++) {
+            for (int j = 1; j <= nbFiguresMax; j++) {
+                for (int k = 0; k < figures.length; k++) {
+                    for (int l = 0; l < textures.length; l++) {
+                        jeu[x++] = Carte.getCarte(couleurs[i], j, figures[k], textures[l]);
+                    }
+                }
+            }
+        }
+        return new Paquet(jeu);
+    }
+
+    /**
+     * Résultat : La clé de la configuration dans MODELES (un entier positif), ou -1 si elle ne tient pas sur un long.
+     * La clé s'écrit en base BASE_CLE : nbFiguresMax, puis pour chacune des listes couleurs, figures et textures,
+     * l'ordinal + 1 de chacun de ses éléments suivi d'un 0 séparateur. En relisant les chiffres depuis la fin,
+     * on retrouve les trois listes puis nbFiguresMax : deux configurations différentes ont des clés différentes.
+     */
+
+    private static long getCleModele(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures) {
+        long cle = nbFiguresMax;
+        for (Couleur couleur : couleurs) {
+            cle = ajouterChiffre(cle, couleur.ordinal() + 1);
+        }
+        cle = ajouterChiffre(cle, 0);
+        for (Figure figure : figures) {
+            cle = ajouterChiffre(cle, figure.ordinal() + 1);
+        }
+        cle = ajouterChiffre(cle, 0);
+        for (Texture texture : textures) {
+            cle = ajouterChiffre(cle, texture.ordinal() + 1);
+        }
+        return ajouterChiffre(cle, 0);
+    }
+
+    /**
+     * Pre-requis : 0 <= chiffre < BASE_CLE
+     * Résultat : cle suivie du chiffre (en base BASE_CLE), ou -1 si cle vaut -1 ou si le résultat dépasse un long.
+     */
+
+    private static long ajouterChiffre(long cle, int chiffre) {
+        if (cle < 0 || cle > (Long.MAX_VALUE - chiffre) / BASE_CLE) {
+            return -1;
+        }
+        return cle * BASE_CLE + chiffre;
+    }
+
+    /**
+     * Pre-requis : cartes ne contient pas null.
+     * Résultat : Les cartes différentes (au sens de compareTo) du tableau cartes, par ordre croissant.
+     * Lève une IllegalArgumentException s'il y en a plus de 65 536 (un indice doit tenir sur deux octets).
+     */
+
+    private static Carte[] creerCatalogue(Carte[] cartes) {
+        Carte[] triees = cartes.clone();
+        Arrays.sort(triees, Carte::compareTo);
+        int nbDifferentes = 0;
+        for (int i = 0; i < triees.length; i++) {
+            if (nbDifferentes == 0 || triees[nbDifferentes - 1].compareTo(triees[i]) != 0) {
+                triees[nbDifferentes++] = triees[i];
+            }
+        }
+        if (nbDifferentes > NB_CARTES_DIFFERENTES_MAX) {
+            throw new IllegalArgumentException("Un paquet ne peut pas contenir plus de " + NB_CARTES_DIFFERENTES_MAX
+                    + " cartes différentes (" + nbDifferentes + " demandées)");
+        }
+        return Arrays.copyOf(triees, nbDifferentes);
+    }
+
+    /**
+     * Pre-requis : le catalogue est construit.
+     * Action : Alloue le tableau de nbCases indices : sur un octet (cartes) si le catalogue a au plus 256 cartes,
+     * sur deux octets (cartesLarges) sinon.
+     */
+
+    private void allouerCartes(int nbCases) {
+        if (this.catalogue.length <= NB_CARTES_DIFFERENTES_OCTET) {
+            this.cartes = new byte[nbCases];
+        } else {
+            this.cartesLarges = new short[nbCases];
+        }
+    }
+
+    /**
+     * Pre-requis : chaque carte de cartes est présente dans le catalogue (au sens de compareTo),
+     * cartes.length <= nombre de cases du tableau d'indices.
+     * Action : Range aux positions 0 à cartes.length-1 les indices des cartes dans le catalogue.
+     */
+
+    private void indexer(Carte[] cartes) {
+        for (int i = 0; i < cartes.length; i++) {
+            this.setIndice(i, Arrays.binarySearch(this.catalogue, cartes[i], Carte::compareTo));
+        }
+    }
+
+    /**
+     * Résultat : L'indice dans le catalogue de la carte en position i.
+     */
+
+    private int getIndice(int i) {
+        if (this.cartes != null) {
+            return this.cartes[i] & 0xFF;
+        }
+        return this.cartesLarges[i] & 0xFFFF;
+    }
+
+    private void setIndice(int i, int indice) {
+        if (this.cartes != null) {
+            this.cartes[i] = (byte) indice;
+        } else {
+            this.cartesLarges[i] = (short) indice;
+        }
+    }
+
+    /**
+     * Action : Echange les cartes en positions i et j.
+     */
+
+    private void echanger(int i, int j) {
+        if (this.cartes != null) {
+            byte temp = this.cartes[i];
+            this.cartes[i] = this.cartes[j];
+            this.cartes[j] = temp;
+        } else {
+            short temp = this.cartesLarges[i];
+            this.cartesLarges[i] = this.cartesLarges[j];
+            this.cartesLarges[j] = temp;
+        }
+    }
+
+    /**
+     * Résultat : Le nombre de cases du tableau d'indices (cartes déjà piochées comprises).
+     */
+
+    private int getNbCases() {
+        return this.cartes != null ? this.cartes.length : this.cartesLarges.length;
+    }
+
+    /**
+     * Résultat : La carte en position i.
+     */
+
+    private Carte getCarte(int i) {
+        return this.catalogue[this.getIndice(i)];
+    }
+
+    public int getNbCartes(){
+        return this.nbCartes;
+    }
+
+    /**
+     * Action : Mélange aléatoirement les cartes restantes dans le paquet.
+     * Attention, on rappelle que le paquet peut aussi contenir des cartes déjà piochées qu'il faut ignorer.
+     */
+
+    public void melanger() {
+        if (this.cartes != null) {
+            // cas courant (indices sur un octet) : boucle sans test de la taille des indices
+            byte[] cartes = this.cartes;
+            for (int i = this.nbCartes - 1; i > 0; i--) {
+                int ran = this.aleatoire.nextInt(i + 1);
+                byte temp = cartes[i];
+                cartes[i] = cartes[ran];
+                cartes[ran] = temp;
+            }
+        } else {
+            for (int i = this.nbCartes - 1; i > 0; i--) {
+                this.echanger(i, this.aleatoire.nextInt(i + 1));
+            }
+        }
+        this.melangeALaPioche = false;
+    }
+
+    /**
+     * Action : Mélange les cartes restantes au fur et à mesure qu'elles sont piochées, au lieu de tout mélanger
+     * maintenant : chaque pioche échange la carte du dessus avec une carte restante tirée au hasard, ce qui est
+     * exactement l'étape suivante de la boucle de melanger (mélange de Fisher-Yates).
+     * Les cartes piochées sont donc les mêmes, avec le même générateur, que si melanger avait été appelé ici,
+     * mais le coût est proportionnel au nombre de cartes piochées.
+     * Les méthodes qui ont besoin de l'ordre de toutes les cartes restantes (toString, estTriee...) terminent le mélange.
+     * Les tris et les copies n'en ont pas besoin et ne le terminent pas.
+     */
+
+    public void melangerALaPioche() {
+        this.melangeALaPioche = true;
+    }
+
+    /**
+     * Action : Si le mélange est fait à la pioche, mélange maintenant les cartes restantes (fin du Fisher-Yates).
+     */
+
+    private void terminerMelange() {
+        if (this.melangeALaPioche) {
+            this.melanger();
+        }
+    }
+
+    
+
+
+    /**
+     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri selection.
+     * Le tri est effectué à partir des données du paquet courant (this) mais celui-ci ne doit pas être modifié !
+     * Une nouvelle instance du paquet est traitée et renvoyée.
+     * On rappelle que le paquet peut aussi contenir des cartes déjà piochées  qu'il faut ignorer (voir partie 2 de la SAE).
+     * Le tri doit fonctionner que le Paquet soit plein ou non.
+     * https://www.youtube.com/watch?v=Ns4TPTC8whw&t=2s vidéo explicative
+     */
+
+    public Paquet trierSelection() {
+        return this.trierSelection(null);
+    }
+
+    /**
+     * Action : Comme trierSelection(), en remplissant les compteurs s'ils ne sont pas null (voir CompteursTri).
+     */
+
+    public Paquet trierSelection(CompteursTri compteurs) {
+        Paquet paquetCopie = this.copierPourTri();
+        for (int i = 0; i < this.nbCartes-1; i++){
+            for (int j = i+1; j < this.nbCartes; j++){
+                if (compteurs != null) {
+                    compteurs.compterComparaison();
+                }
+                if (paquetCopie.getIndice(i) > paquetCopie.getIndice(j)){
+                    paquetCopie.echanger(i, j);
+                    if (compteurs != null) {
+                        compteurs.compterDeplacements(2);
+                    }
+                }
+            }
+        }
+        if (compteurs != null) {
+            compteurs.compterAllocations(paquetCopie.getNbCases());
+        }
+        return paquetCopie;
+    }
+
+    /**
+     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri bulles.
+     * Le tri est effectué à partir des données du paquet courant (this) mais celui-ci ne doit pas être modifié !
+     * Une nouvelle instance du paquet est traitée et renvoyée.
+     * On rappelle que le paquet peut aussi contenir des cartes déjà piochées  qu'il faut ignorer (voir partie 2 de la SAE).
+     * Le tri doit fonctionner que le Paquet soit plein ou non.
+     * https://www.youtube.com/watch?v=lyZQPjUT5B4&embeds_referring_euri=https%3A%2F%2Fwww.developpez.com%2F&source_ve_path=Mjg2NjY&feature=emb_logo
+     * vidéo explicative
+     */
+
+    public Paquet trierBulles() {
+        return this.trierBulles(null);
+    }
+
+    /**
+     * Action : Comme trierBulles(), en remplissant les compteurs s'ils ne sont pas null (voir CompteursTri).
+     */
+
+    public Paquet trierBulles(CompteursTri compteurs) {
+        Paquet paquetCopie = this.copierPourTri();
+        for (int i = 0; i < this.nbCartes-1; i++){
+            for (int j = 0; j < this.nbCartes-1-i; j++){
+                if (compteurs != null) {
+                    compteurs.compterComparaison();
+                }
+                if (paquetCopie.getIndice(j) > paquetCopie.getIndice(j+1)){
+                    paquetCopie.echanger(j, j+1);
+                    if (compteurs != null) {
+                        compteurs.compterDeplacements(2);
+                    }
+                }
+            }
+        }
+        if (compteurs != null) {
+            compteurs.compterAllocations(paquetCopie.getNbCases());
+        }
+        return paquetCopie;
+    }
+
+    /**
+     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri insertion.
+     * Le tri est effectué à partir des données du paquet courant (this) mais celui-ci ne doit pas être modifié !
+     * Une nouvelle instance du paquet est traitée et renvoyée.
+     * On rappelle que le paquet peut aussi contenir des cartes déjà piochées  qu'il faut ignorer (voir partie 2 de la SAE).
+     * Le tri doit fonctionner que le Paquet soit plein ou non.
+     * https://www.youtube.com/watch?v=ROalU379l3U&t=1s : vidéo explicative
+     */
+
+    public Paquet trierInsertion() {
+        return this.trierInsertion(null);
+    }
+
+    /**
+     * Action : Comme trierInsertion(), en remplissant les compteurs s'ils ne sont pas null (voir CompteursTri).
+     */
+
+    public Paquet trierInsertion(CompteursTri compteurs) {
+        Paquet paquetCopie = this.copierPourTri();
+        for (int i = 1; i < this.nbCartes; i++) {
+            int carteActuelle = paquetCopie.getIndice(i);
+            int j = i - 1;
+            while (j >= 0 && paquetCopie.getIndice(j) > carteActuelle) {
+                paquetCopie.setIndice(j+1, paquetCopie.getIndice(j));
+                j--;
+            }
+            paquetCopie.setIndice(j+1, carteActuelle);
+            if (compteurs != null) {
+                // une comparaison par déplacement, plus celle qui a arrêté la boucle (sauf si j est arrivé à -1)
+                compteurs.compterComparaisons(j >= 0 ? i - j : i);
+                compteurs.compterDeplacements(i - j);
+            }
+        }
+        if (compteurs != null) {
+            compteurs.compterAllocations(paquetCopie.getNbCases());
+        }
+        return paquetCopie;
+    }
+
+    /**
+     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri comptage.
+     * L'indice de chaque carte dans le catalogue respecte l'ordre de compareTo.
+     * Les indices étant peu nombreux (au plus 65 536, 81 pour le jeu standard), on compte les cartes de chaque indice, puis on réécrit
+     * le paquet dans l'ordre des indices : le tri est linéaire en nombre de cartes.
+     * Comme pour les autres tris, this n'est pas modifié et les cartes déjà piochées sont ignorées.
+     */
+
+    public Paquet trierComptage() {
+        return this.trierComptage(null);
+    }
+
+    /**
+     * Action : Comme trierComptage(), en remplissant les compteurs s'ils ne sont pas null (voir CompteursTri).
+     * Ce tri ne compare jamais deux cartes : seuls les déplacements sont comptés.
+     */
+
+    public Paquet trierComptage(CompteursTri compteurs) {
+        Paquet paquetCopie = this.copierPourTri();
+        int[] nbCartesParIndice = new int[this.catalogue.length];
+        for (int i = 0; i < this.nbCartes; i++) {
+            nbCartesParIndice[this.getIndice(i)]++;
+        }
+        int position = 0;
+        for (int indice = 0; indice < nbCartesParIndice.length; indice++) {
+            for (int k = 0; k < nbCartesParIndice[indice]; k++) {
+                paquetCopie.setIndice(position++, indice);
+            }
+        }
+        if (compteurs != null) {
+            compteurs.compterDeplacements(this.nbCartes);
+            compteurs.compterAllocations(paquetCopie.getNbCases() + nbCartesParIndice.length);
+        }
+        return paquetCopie;
+    }
+
+    /**
+     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon la méthode du tri radix.
+     * Les cartes sont distribuées (de manière stable) selon chacune de leurs caractéristiques,
+     * de la moins prioritaire (texture) à la plus prioritaire (couleur) : 4 passes linéaires.
+     * Comme pour les autres tris, this n'est pas modifié et les cartes déjà piochées sont ignorées.
+     */
+
+    public Paquet trierRadix() {
+        return this.trierRadix(null);
+    }
+
+    /**
+     * Action : Comme trierRadix(), en remplissant les compteurs s'ils ne sont pas null (voir CompteursTri).
+     * Ce tri ne compare jamais deux cartes : seuls les déplacements (4 par carte) sont comptés.
+     */
+
+    public Paquet trierRadix(CompteursTri compteurs) {
+        Paquet paquetCopie = this.copierPourTri();
+        int n = this.nbCartes;
+        int[] indices = new int[n];
+        int[] tampon = new int[n];
+        int[] chiffres = new int[n];
+        Carte[] catalogue = this.catalogue;
+        for (int i = 0; i < n; i++) {
+            indices[i] = this.getIndice(i);
+        }
+
+        for (int i = 0; i < n; i++) {
+            chiffres[i] = catalogue[indices[i]].getTexture().ordinal();
+        }
+        distribuer(indices, tampon, n, chiffres, Texture.values().length);
+
+        for (int i = 0; i < n; i++) {
+            chiffres[i] = catalogue[tampon[i]].getFigure().ordinal();
+        }
+        distribuer(tampon, indices, n, chiffres, Figure.values().length);
+
+        for (int i = 0; i < n; i++) {
+            chiffres[i] = catalogue[indices[i]].getNbFigures() - 1;
+        }
+        distribuer(indices, tampon, n, chiffres, this.getNbFiguresMax());
+
+        for (int i = 0; i < n; i++) {
+            chiffres[i] = catalogue[tampon[i]].getCouleur().ordinal();
+        }
+        distribuer(tampon, indices, n, chiffres, Couleur.values().length);
+        for (int i = 0; i < n; i++) {
+            paquetCopie.setIndice(i, indices[i]);
+        }
+        if (compteurs != null) {
+            compteurs.compterDeplacements(4L * n);
+            // copie, indices, tampon, chiffres et les tableaux de positions des 4 distributions
+            compteurs.compterAllocations(paquetCopie.getNbCases() + 3L * n + Texture.values().length
+                    + Figure.values().length + this.getNbFiguresMax() + Couleur.values().length + 4);
+        }
+        return paquetCopie;
+    }
+
+    /**
+     * Action : Calcule et renvoie un paquet trié à partir du paquet courant (this) selon un tri fusion parallèle
+     * (voir TriFusionParallele), en utilisant l'ordre de compareTo.
+     * Comme pour les autres tris, this n'est pas modifié et les cartes déjà piochées sont ignorées.
+     */
+
+    public Paquet trierParallele() {
+        return this.trierParallele(Carte::compareTo);
+    }
+
+    /**
+     * Action : Calcule et renvoie un paquet trié selon "comparateur" par un tri fusion parallèle.
+     * Le tri est stable. this n'est pas modifié et les cartes déjà piochées sont ignorées.
+     */
+
+    public Paquet trierParallele(Comparator<Carte> comparateur) {
+        return this.trierParallele(comparateur, null);
+    }
+
+    /**
+     * Action : Comme trierParallele(comparateur), en remplissant les compteurs s'ils ne sont pas null
+     * (voir CompteursTri). Les comparaisons et déplacements des différents fils sont additionnés.
+     */
+
+    public Paquet trierParallele(Comparator<Carte> comparateur, CompteursTri compteurs) {
+        Paquet paquetCopie = this.copierPourTri();
+        // le comparateur porte sur des cartes : on trie les cartes elles-mêmes, puis on revient aux indices
+        Carte[] cartesTriees = new Carte[this.nbCartes];
+        for (int i = 0; i < this.nbCartes; i++) {
+            cartesTriees[i] = this.getCarte(i);
+        }
+        if (compteurs == null) {
+            TriFusionParallele.trier(cartesTriees, 0, this.nbCartes, comparateur, null);
+        } else {
+            LongAdder comparaisons = new LongAdder();
+            LongAdder deplacements = new LongAdder();
+            Comparator<Carte> comparateurCompte = (carte1, carte2) -> {
+                comparaisons.increment();
+                return comparateur.compare(carte1, carte2);
+            };
+            TriFusionParallele.trier(cartesTriees, 0, this.nbCartes, comparateurCompte, deplacements);
+            compteurs.compterComparaisons(comparaisons.sum());
+            compteurs.compterDeplacements(deplacements.sum());
+            // copie, cartes à trier et tampon de la fusion
+            compteurs.compterAllocations(paquetCopie.getNbCases() + 2L * this.nbCartes);
+        }
+        paquetCopie.indexer(cartesTriees);
+        return paquetCopie;
+    }
+
+    /**
+     * Pre-requis : 0 <= cles[i] < nbCles pour 0 <= i < n
+     * Action : Recopie les n premières cartes de source dans destination, triées par clé croissante.
+     * Le tri est stable : deux cartes de même clé restent dans le même ordre.
+     */
+
+    private static void distribuer(int[] source, int[] destination, int n, int[] cles, int nbCles) {
+        int[] positions = new int[nbCles + 1];
+        for (int i = 0; i < n; i++) {
+            positions[cles[i] + 1]++;
+        }
+        for (int cle = 0; cle < nbCles; cle++) {
+            positions[cle + 1] += positions[cle];
+        }
+        for (int i = 0; i < n; i++) {
+            destination[positions[cles[i]]++] = source[i];
+        }
+    }
+
+    /**
+     * Résultat : Le plus grand nombre de figures parmi les cartes du catalogue (au moins 1).
+     */
+
+    private int getNbFiguresMax() {
+        int nbFiguresMax = 1;
+        for (Carte carte : this.catalogue) {
+            nbFiguresMax = Math.max(nbFiguresMax, carte.getNbFigures());
+        }
+        return nbFiguresMax;
+    }
+
+    /**
+     * Action : Trie le paquet avec la stratégie passée en paramètre (voir MethodeTri).
+     * Résultat : Un nouveau paquet trié, this n'est pas modifié.
+     */
+
+    public Paquet trier(StrategieTri strategie) {
+        return strategie.trier(this);
+    }
+
+    /**
+     * Action : Trie le paquet avec la stratégie passée en paramètre, en remplissant les compteurs (voir CompteursTri).
+     * Résultat : Un nouveau paquet trié, this n'est pas modifié.
+     */
+
+    public Paquet trier(StrategieTri strategie, CompteursTri compteurs) {
+        return strategie.trier(this, compteurs);
+    }
+
+    /**
+     * Action : Trie le paquet avec la méthode la plus adaptée à sa taille (voir choisirMethodeTri).
+     * Résultat : Un nouveau paquet trié, this n'est pas modifié.
+     */
+
+    public Paquet trier() {
+        return this.trier(this.choisirMethodeTri());
+    }
+
+    /**
+     * Résultat : La méthode de tri la plus adaptée au paquet :
+     *  - INSERTION pour un petit paquet (au plus NB_CARTES_TRI_INSERTION cartes), où il est le plus rapide,
+     *  - COMPTAGE sinon, dont le coût est linéaire quel que soit l'ordre des cartes.
+     * Peu de descentes ne suffit pas à rendre le tri insertion rapide : un sabot trié puis coupé n'a qu'une
+     * descente mais environ n²/4 inversions. Seule la taille est donc lue : le paquet n'est pas modifié
+     * (en particulier, un mélange à la pioche n'est pas terminé).
+     */
+
+    public MethodeTri choisirMethodeTri() {
+        if (this.nbCartes <= NB_CARTES_TRI_INSERTION) {
+            return MethodeTri.INSERTION;
+        }
+        return MethodeTri.COMPTAGE;
+    }
+
+    public boolean estTriee() {
+        this.terminerMelange();
+        int i = 0;
+        while (i < this.nbCartes-2 && this.getIndice(i) <= this.getIndice(i + 1)) {
+            i++;
+        }
+        if (this.getIndice(i) > this.getIndice(i + 1)){
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Action : Permet de tester les différents tris.
+     * On doit s'assurer que chaque tri permette effectivement de trier un paquet mélangé.
+     * Des messages d'informations devront être affichés.
+     * La méthode est "static" et ne s'effectue donc pas sur la paquet courant "this".
+     */
+    public static void testTris() {
+        Couleur[] couleurs = {Couleur.ROUGE, Couleur.JAUNE};
+        Figure[] figures = {Figure.OVALE, Figure.LOSANGE};
+        Texture[] textures = {Texture.PLEIN, Texture.VIDE};
+        int nbFiguresMax = 2;
+        Paquet paquetTest = new Paquet(couleurs, nbFiguresMax, figures, textures);
+    
+        long startTime, endTime;
+        double tempsExec;
+
+        startTime = System.nanoTime();
+        Paquet triSelection = paquetTest.trierSelection();
+        endTime = System.nanoTime();
+        tempsExec = (endTime - startTime) / 1000000.0;
+        System.out.print("Tri sélection: ");
+        System.out.println(triSelection.estTriee() ? "OK" : "Echec");
+        System.out.println("Temps d'éxecution de tri sélection: " + String.format("%.3f", tempsExec) + " ms.");
+    
+        startTime = System.nanoTime();
+        Paquet triBulles = paquetTest.trierBulles();
+        endTime = System.nanoTime();
+        tempsExec = (endTime - startTime) / 1000000.0;
+        System.out.print("Tri bulles: ");
+        System.out.println(triBulles.estTriee() ? "OK" : "Echec");
+        System.out.println("Temps d'éxecution de tri bulles: " + String.format("%.3f", tempsExec) + " ms.");
+
+        startTime = System.nanoTime();
+        Paquet triInsertion = paquetTest.trierInsertion();
+        endTime = System.nanoTime();
+        long tempsInsertion = endTime - startTime;
+        tempsExec = (endTime - startTime) / 1000000.0;
+        System.out.print("Tri insertion: ");
+        System.out.println(triInsertion.estTriee() ? "OK" : "Echec");
+        System.out.println("Temps d'éxecution de tri insertion: " + String.format("%.3f", tempsExec) + " ms.");
+
+        startTime = System.nanoTime();
+        Paquet triComptage = paquetTest.trierComptage();
+        endTime = System.nanoTime();
+        tempsExec = (endTime - startTime) / 1000000.0;
+        System.out.print("Tri comptage: ");
+        System.out.println(triComptage.estTriee() ? "OK" : "Echec");
+        System.out.println("Temps d'éxecution de tri comptage: " + String.format("%.3f", tempsExec) + " ms.");
+
+        startTime = System.nanoTime();
+        Paquet triRadix = paquetTest.trierRadix();
+        endTime = System.nanoTime();
+        tempsExec = (endTime - startTime) / 1000000.0;
+        System.out.print("Tri radix: ");
+        System.out.println(triRadix.estTriee() ? "OK" : "Echec");
+        System.out.println("Temps d'éxecution de tri radix: " + String.format("%.3f", tempsExec) + " ms.");
+
+        startTime = System.nanoTime();
+        Paquet triParallele = paquetTest.trierParallele();
+        endTime = System.nanoTime();
+        tempsExec = (endTime - startTime) / 1000000.0;
+        System.out.print("Tri parallèle: ");
+        System.out.println(triParallele.estTriee() ? "OK" : "Echec");
+        System.out.println("Temps d'éxecution de tri parallèle: " + String.format("%.3f", tempsExec) + " ms.");
+        System.out.println("Accélération du tri parallèle par rapport au tri insertion : x"
+                + String.format("%.2f", (double) tempsInsertion / Math.max(1, endTime - startTime)));
+
+        // les temps ci-dessus sont mesurés sans compteurs, on compte le travail de chaque tri à part
+        CompteursTri compteurs = new CompteursTri();
+        for (MethodeTri methode : MethodeTri.values()) {
+            compteurs.reinitialiser();
+            paquetTest.trier(methode, compteurs);
+            System.out.println("Tri " + methode.name().toLowerCase() + " (" + paquetTest.nbCartes + " cartes) : "
+                    + compteurs);
+        }
+    }
+
+    /**
+     * Pre-requis : 0 <= nbCartes <= nombre de cartes restantes dans le paquet.
+     *
+     * Action : Pioche nbCartes Cartes au dessus du Paquet this (et met à jour son état).
+     * Lève une IllegalArgumentException, sans rien piocher, s'il reste moins de nbCartes cartes.
+     *
+     * Résultat : Un tableau contenant les nbCartes Cartes piochees dans le Paquet.
+     *
+     * Exemple :
+     * Contenu paquet : [A,B,C,D,E,F,G]
+     * Nombre de cartes restantes : 5. On considère donc seulement les cartes de 0 à 4.
+     *
+     * piocher(3)
+     * Contenu paquet : [A,B,C,D,E,F,G]
+     * Nombre de cartes restantes : 2
+     * Renvoie [E,D,C]
+     */
+
+    public Carte[] piocher(int nbCartes) {
+        if (nbCartes > this.nbCartes) {
+            throw new IllegalArgumentException("Impossible de piocher " + nbCartes + " cartes, il en reste "
+                    + this.nbCartes);
+        }
+        Carte[] cartesPiochees = new Carte[nbCartes];
+        this.piocher(cartesPiochees, 0, nbCartes);
+        return cartesPiochees;
+    }
+
+    /**
+     * Action : Pioche au plus nbCartes Cartes au dessus du Paquet this et les range dans destination,
+     * à partir de l'indice debut (dans le même ordre que piocher(nbCartes)). Aucun tableau n'est créé.
+     *
+     * Résultat : Le nombre de cartes réellement piochées (moins de nbCartes si le paquet se vide).
+     */
+
+    public int piocher(Carte[] destination, int debut, int nbCartes) {
+        int nbPiochees = Math.min(nbCartes, this.nbCartes);
+        for (int i = 0; i < nbPiochees; i++) {
+            destination[debut + i] = this.piocherCarte();
+        }
+        return nbPiochees;
+    }
+
+    /**
+     * Pre-requis : le paquet n'est pas vide.
+     * Action : Pioche la carte du dessus du Paquet this, sans créer de tableau.
+     * Résultat : La carte piochée.
+     */
+
+    public Carte piocherCarte() {
+        this.nbCartes--;
+        if (this.melangeALaPioche && this.nbCartes > 0) {
+            // étape i = nbCartes de melanger : la carte du dessus est tirée parmi les cartes restantes
+            this.echanger(this.nbCartes, this.aleatoire.nextInt(this.nbCartes + 1));
+        }
+        return this.getCarte(this.nbCartes);
+    }
+
+    /**
+     * Pre-requis : le paquet n'est pas vide.
+     * Action : Pioche la carte du dessus du Paquet this.
+     * Résultat : Le code de la carte piochée (voir Carte.getCode), ou -1 si elle n'appartient pas à l'espace standard.
+     */
+
+    public int piocherCode() {
+        return this.piocherCarte().getCode();
+    }
+
+    /**
+     * Action : Pioche au plus nbCartes Cartes au dessus du Paquet this et range leurs codes dans destination,
+     * à partir de l'indice debut (-1 pour une carte hors de l'espace standard, voir piocherCode).
+     * Aucun tableau n'est créé.
+     *
+     * Résultat : Le nombre de cartes réellement piochées (moins de nbCartes si le paquet se vide).
+     */
+
+    public int piocherCodes(int[] destination, int debut, int nbCartes) {
+        int nbPiochees = Math.min(nbCartes, this.nbCartes);
+        for (int i = 0; i < nbPiochees; i++) {
+            destination[debut + i] = this.piocherCarte().getCode();
+        }
+        return nbPiochees;
+    }
+
+    /**
+     * Résultat : Vrai s'il reste assez de cartes dans le paquet pour piocher nbCartes.
+     */
+
+    public boolean peutPiocher(int nbCartes) {
+        if (this.nbCartes < nbCartes){
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Résultat : Vrai s'il ne reste plus aucune cartes dans le paquet.
+     */
+
+    public boolean estVide() {
+        if (this.nbCartes==0){
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Résultat : Une chaîne de caractères représentant le paquet sous la forme d'un tableau
+     * [X, Y, Z...] représentant les cartes restantes dans le paquet.
+     *
+     * Exemple :
+     * Contenu paquet : 1-O-P (rouge), 2-C-V (jaune), 3-L-P (jaune), 3-L-P (rouge), 1-L-V (bleu)
+     * Nombre de cartes restantes : 3
+     * Retourne [1-O-P, 2-C-V, 3-L-P] (et chaque représentation d'une carte est coloré selon la couleur de la carte...)
+     */
+
+    @Override
+    public String toString() {
+        this.terminerMelange();
+        String str = "["; 
+        for (int i = 0; i < this.nbCartes-1; i++){
+            str += this.getCarte(i).toString();
+            if (i < this.nbCartes-2){
+                str += ", ";
+            }
+        }
+        str += "]";
+        return str;
+    }
+}
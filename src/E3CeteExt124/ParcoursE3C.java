@@ -0,0 +1,121 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * La classe ParcoursE3C permet d'énumérer tous les E3C présents sur une Table, sans jamais les stocker.
+ * Les E3C sont produits dans l'ordre des numéros de cartes : (i,j,k) avec i < j < k, triés par i, puis j, puis k.
+ *
+ * Le parcours s'utilise de deux manières :
+ * - comme un curseur (avancer puis getNumero1, getNumero2, getNumero3), ce qui n'alloue rien par E3C,
+ * - comme un Iterator (hasNext / next), chaque appel à next renvoyant un nouveau tableau de 3 numéros.
+ *
+ * Le parcours travaille sur une copie des codes de la table prise à sa création :
+ * modifier la table ensuite n'a pas d'effet sur le parcours en cours.
+ */
+public class ParcoursE3C implements Iterator<int[]> {
+
+    private int[] codes;
+    private int taille;
+    // index des cases par code (voir Table.indexerCodes)
+    private int[] premiereCase;
+    private int[] caseSuivante;
+    private int i;
+    private int j;
+    private int k;
+    private boolean suivantCalcule;
+    private boolean aUnSuivant;
+
+    /**
+     * Pre-requis : codes[i] est le code de la carte numéro i+1 de la table, ou -1 si la case est vide.
+     * Action : Prépare le parcours des E3C des cartes de codes "codes" (le tableau est copié).
+     */
+
+    public ParcoursE3C(int[] codes) {
+        this.codes = codes.clone();
+        this.taille = codes.length;
+        this.premiereCase = new int[Carte.NB_CARTES];
+        this.caseSuivante = new int[this.taille];
+        Table.indexerCodes(this.codes, this.premiereCase, this.caseSuivante);
+        this.i = 0;
+        this.j = 0;
+        this.k = -1;
+    }
+
+    /**
+     * Action : Passe à l'E3C suivant.
+     * Résultat : Vrai si un E3C suivant existe (ses numéros sont alors donnés par getNumero1, 2 et 3), faux sinon.
+     */
+
+    public boolean avancer() {
+        if (this.suivantCalcule) {
+            this.suivantCalcule = false;
+            return this.aUnSuivant;
+        }
+        if (this.k != -1) {
+            this.k = this.caseSuivante[this.k];
+            if (this.k != -1) {
+                return true;
+            }
+        }
+        while (this.i < this.taille - 2) {
+            this.j++;
+            if (this.j >= this.taille - 1 || this.codes[this.i] < 0) {
+                this.i++;
+                this.j = this.i;
+            } else if (this.codes[this.j] >= 0) {
+                int n = this.premiereCase[Jeu.getTroisiemeCarte(this.codes[this.i], this.codes[this.j])];
+                while (n != -1 && n <= this.j) {
+                    n = this.caseSuivante[n];
+                }
+                if (n != -1) {
+                    this.k = n;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Résultat : Le numéro (à partir de 1) de la première carte de l'E3C courant.
+     */
+
+    public int getNumero1() {
+        return this.i + 1;
+    }
+
+    /**
+     * Résultat : Le numéro (à partir de 1) de la deuxième carte de l'E3C courant.
+     */
+
+    public int getNumero2() {
+        return this.j + 1;
+    }
+
+    /**
+     * Résultat : Le numéro (à partir de 1) de la troisième carte de l'E3C courant.
+     */
+
+    public int getNumero3() {
+        return this.k + 1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.suivantCalcule) {
+            this.aUnSuivant = this.avancer();
+            this.suivantCalcule = true;
+        }
+        return this.aUnSuivant;
+    }
+
+    @Override
+    public int[] next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.suivantCalcule = false;
+        int[] e3c = {this.getNumero1(), this.getNumero2(), this.getNumero3()};
+        return e3c;
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.Locale;
+
+/**
+ * La classe PartiesOrdinateur fait jouer à l'ordinateur des parties complètes les unes après les autres,
+ * sans affichage ni pause (voir Jeu.jouerTourOrdinateurSansAffichage), et mesure :
+ * - le nombre de parties jouées par seconde,
+ * - le nombre moyen de tours par partie,
+ * - le score final moyen,
+ * - le taux d'échec : la proportion de tours où l'ordinateur n'a pas trouvé d'E3C sur la table.
+ *
+ * Les parties sont jouées avec un générateur de graine fixée : deux exécutions de mêmes paramètres jouent
+ * exactement les mêmes parties (seule la durée change).
+ *
+ * Usage : java PartiesOrdinateur [nbParties] [hauteur] [largeur] [graine] (par défaut 100000 3 3 2023).
+ */
+public class PartiesOrdinateur {
+
+    private long nbParties;
+    private long nbTours;
+    private long nbEchecs;
+    private long scoreTotal;
+    private long dureeNanos;
+
+    /**
+     * Pre-requis : nbParties > 0, hauteur x largeur >= 3
+     * Action : Joue nbParties parties de l'ordinateur sur une table hauteur x largeur et cumule leurs résultats.
+     */
+
+    public void jouer(long nbParties, int hauteur, int largeur, long graine) {
+        Jeu jeu = new Jeu(hauteur, largeur, graine);
+        long debut = System.nanoTime();
+        for (long partie = 0; partie < nbParties; partie++) {
+            if (partie > 0) {
+                jeu.resetJeu(hauteur, largeur);
+            }
+            while (!jeu.partieEstTerminee()) {
+                if (!jeu.jouerTourOrdinateurSansAffichage()) {
+                    this.nbEchecs++;
+                }
+                this.nbTours++;
+            }
+            this.scoreTotal += jeu.getScore();
+        }
+        this.dureeNanos += System.nanoTime() - debut;
+        this.nbParties += nbParties;
+    }
+
+    public double getPartiesParSeconde() {
+        return this.nbParties * 1e9 / this.dureeNanos;
+    }
+
+    public double getToursParPartie() {
+        return (double) this.nbTours / this.nbParties;
+    }
+
+    public double getScoreMoyen() {
+        return (double) this.scoreTotal / this.nbParties;
+    }
+
+    /**
+     * Résultat : La proportion de tours où l'ordinateur n'a pas trouvé d'E3C (et a perdu un point).
+     */
+
+    public double getTauxEchec() {
+        return this.nbTours == 0 ? 0 : (double) this.nbEchecs / this.nbTours;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d parties : %.0f parties/s, %.2f tours/partie, score moyen %.3f, "
+                + "taux d'échec %.5f", this.nbParties, this.getPartiesParSeconde(), this.getToursParPartie(),
+                this.getScoreMoyen(), this.getTauxEchec());
+    }
+
+    public static void main(String[] args) {
+        long nbParties = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int hauteur = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int largeur = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long graine = args.length > 3 ? Long.parseLong(args[3]) : 2023;
+        // une première série, plus courte, pour l'échauffement du JIT
+        new PartiesOrdinateur().jouer(Math.max(1, nbParties / 10), hauteur, largeur, graine);
+        PartiesOrdinateur parties = new PartiesOrdinateur();
+        parties.jouer(nbParties, hauteur, largeur, graine);
+        System.out.println("Table " + hauteur + "x" + largeur + " : " + parties);
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * La classe RechercheE3CParallele recherche un E3C sur une table de grande taille avec le framework fork/join.
+ *
+ * L'intervalle des premières cartes (i) des triplets est découpé récursivement en sous-tâches.
+ * Chaque sous-tâche cherche, pour ses valeurs de i, une paire (j,k) avec i < j < k dont les cartes forment un E3C,
+ * à l'aide de l'index des cases par code (voir Table.indexerCodes).
+ *
+ * Deux modes sont possibles :
+ * - premier trouvé : dès qu'une tâche trouve un E3C, toutes les autres s'arrêtent,
+ * - déterministe : on renvoie le plus petit triplet (le même que la recherche séquentielle).
+ *   Une tâche s'arrête dès qu'un E3C a été trouvé pour un i plus petit que le sien.
+ */
+public class RechercheE3CParallele extends RecursiveTask<int[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Nombre de cases en dessous duquel la recherche reste séquentielle.
+     */
+    public static final int SEUIL_CASES = 256;
+
+    /**
+     * Nombre maximum de premières cartes traitées par une tâche sans être découpée.
+     */
+    private static final int GRAIN = 16;
+
+    private int[] codes;
+    private int[] premiereCase;
+    private int[] caseSuivante;
+    private int debut;
+    private int fin;
+    private boolean deterministe;
+    // plus petite première case d'un E3C trouvé (Integer.MAX_VALUE tant qu'aucun E3C n'a été trouvé)
+    private AtomicInteger meilleurI;
+
+    private RechercheE3CParallele(int[] codes, int[] premiereCase, int[] caseSuivante, int debut, int fin,
+                                  boolean deterministe, AtomicInteger meilleurI) {
+        this.codes = codes;
+        this.premiereCase = premiereCase;
+        this.caseSuivante = caseSuivante;
+        this.debut = debut;
+        this.fin = fin;
+        this.deterministe = deterministe;
+        this.meilleurI = meilleurI;
+    }
+
+    /**
+     * Pre-requis : codes[i] est le code de la carte numéro i+1 de la table, ou -1 si la case est vide.
+     * Action : Recherche un E3C parmi les cartes de codes "codes" dans le pool fork/join commun.
+     * Résultat : Les numéros (à partir de 1) des cartes d'un E3C, ou null s'il n'y en a pas.
+     */
+
+    public static int[] chercher(int[] codes, boolean deterministe) {
+        int[] copie = codes.clone();
+        int[] premiereCase = new int[Carte.NB_CARTES];
+        int[] caseSuivante = new int[copie.length];
+        Table.indexerCodes(copie, premiereCase, caseSuivante);
+        RechercheE3CParallele tache = new RechercheE3CParallele(copie, premiereCase, caseSuivante,
+                0, Math.max(copie.length - 2, 0), deterministe, new AtomicInteger(Integer.MAX_VALUE));
+        return ForkJoinPool.commonPool().invoke(tache);
+    }
+
+    /**
+     * Résultat : Vrai si la tâche n'a plus besoin de chercher à partir de la première carte i.
+     */
+
+    private boolean estInutile(int i) {
+        int meilleur = this.meilleurI.get();
+        return this.deterministe ? meilleur < i : meilleur != Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected int[] compute() {
+        if (this.fin - this.debut <= GRAIN) {
+            return this.chercherSequentiellement();
+        }
+        int milieu = (this.debut + this.fin) >>> 1;
+        RechercheE3CParallele droite = new RechercheE3CParallele(this.codes, this.premiereCase, this.caseSuivante,
+                milieu, this.fin, this.deterministe, this.meilleurI);
+        RechercheE3CParallele gauche = new RechercheE3CParallele(this.codes, this.premiereCase, this.caseSuivante,
+                this.debut, milieu, this.deterministe, this.meilleurI);
+        droite.fork();
+        int[] e3c = gauche.compute();
+        if (e3c != null) {
+            droite.cancel(false);
+            return e3c;
+        }
+        return droite.join();
+    }
+
+    /**
+     * Résultat : Le plus petit E3C dont la première carte est entre debut (inclus) et fin (exclus), ou null.
+     */
+
+    private int[] chercherSequentiellement() {
+        int taille = this.codes.length;
+        for (int i = this.debut; i < this.fin; i++) {
+            if (this.estInutile(i)) {
+                return null;
+            }
+            int codeI = this.codes[i];
+            if (codeI >= 0) {
+                for (int j = i + 1; j < taille - 1; j++) {
+                    int codeJ = this.codes[j];
+                    if (codeJ >= 0) {
+                        int k = this.premiereCase[Jeu.getTroisiemeCarte(codeI, codeJ)];
+                        while (k != -1 && k <= j) {
+                            k = this.caseSuivante[k];
+                        }
+                        if (k != -1) {
+                            this.meilleurI.accumulateAndGet(i, Math::min);
+                            int[] e3c = {i + 1, j + 1, k + 1};
+                            return e3c;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
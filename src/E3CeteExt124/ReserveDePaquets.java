@@ -0,0 +1,120 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * La classe ReserveDePaquets prépare des paquets mélangés à l'avance, dans un fil d'exécution dédié (le producteur),
+ * pour qu'une nouvelle partie n'ait pas à attendre la génération et le mélange de son paquet (voir Jeu.resetJeu).
+ *
+ * Les paquets prêts sont rangés dans une file bornée : quand elle est pleine, le producteur attend
+ * qu'un paquet soit pris. Prendre un paquet prêt est donc immédiat.
+ *
+ * Chaque paquet est mélangé avec son propre générateur, obtenu par SplittableRandom.split à partir du générateur
+ * de la réserve : les paquets successifs sont indépendants, et une réserve de graine fixée fournit toujours
+ * les mêmes paquets dans le même ordre.
+ *
+ * La réserve doit être arrêtée (arreter) quand on n'en a plus besoin, sinon le producteur reste en attente.
+ */
+public class ReserveDePaquets implements AutoCloseable {
+
+    private Couleur[] couleurs;
+    private int nbFiguresMax;
+    private Figure[] figures;
+    private Texture[] textures;
+    // générateur dont sont issus les générateurs des paquets (utilisé uniquement par le producteur)
+    private SplittableRandom aleatoire;
+    private BlockingQueue<Paquet> paquetsPrets;
+    private Thread producteur;
+    private volatile boolean arretee;
+
+    /**
+     * Pre-requis : capacite > 0, et les pré-requis du constructeur de Paquet pour les caractéristiques.
+     * Action : Construit une réserve d'au plus capacite paquets prêts de cette configuration,
+     * et démarre le producteur.
+     */
+
+    public ReserveDePaquets(int capacite, Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures,
+                            SplittableRandom aleatoire) {
+        this.couleurs = couleurs.clone();
+        this.nbFiguresMax = nbFiguresMax;
+        this.figures = figures.clone();
+        this.textures = textures.clone();
+        this.aleatoire = aleatoire;
+        this.paquetsPrets = new ArrayBlockingQueue<>(capacite);
+        this.producteur = new Thread(this::produire, "ReserveDePaquets");
+        // la réserve ne doit pas empêcher le programme de se terminer
+        this.producteur.setDaemon(true);
+        this.producteur.start();
+    }
+
+    /**
+     * Action : Boucle du producteur : construit et mélange des paquets tant que la réserve n'est pas arrêtée,
+     * en attendant une place libre dans la file avant de ranger chaque paquet.
+     */
+
+    private void produire() {
+        try {
+            while (!this.arretee) {
+                Paquet paquet = new Paquet(this.couleurs, this.nbFiguresMax, this.figures, this.textures,
+                        this.aleatoire.split(), false);
+                this.paquetsPrets.put(paquet);
+            }
+        } catch (InterruptedException e) {
+            // arrêt demandé pendant l'attente d'une place libre
+        }
+    }
+
+    /**
+     * Pre-requis : la réserve n'est pas arrêtée.
+     * Action : Prend le plus ancien paquet prêt, en attendant que le producteur en prépare un si la file est vide.
+     * Résultat : Un paquet mélangé, jamais encore pioché.
+     */
+
+    public Paquet prendre() {
+        if (this.arretee) {
+            throw new IllegalStateException("La réserve de paquets est arrêtée");
+        }
+        try {
+            return this.paquetsPrets.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attente d'un paquet interrompue", e);
+        }
+    }
+
+    /**
+     * Résultat : Le nombre de paquets prêts à être pris immédiatement.
+     */
+
+    public int getNbPaquetsPrets() {
+        return this.paquetsPrets.size();
+    }
+
+    public boolean estArretee() {
+        return this.arretee;
+    }
+
+    /**
+     * Action : Arrête le producteur, attend sa fin et oublie les paquets prêts.
+     * Sans effet si la réserve est déjà arrêtée.
+     */
+
+    public void arreter() {
+        if (this.arretee) {
+            return;
+        }
+        this.arretee = true;
+        this.producteur.interrupt();
+        try {
+            this.producteur.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.paquetsPrets.clear();
+    }
+
+    @Override
+    public void close() {
+        this.arreter();
+    }
+}
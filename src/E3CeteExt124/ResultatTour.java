@@ -0,0 +1,82 @@
+/**
+ * La classe ResultatTour représente le résultat d'un tour de jeu (voir Jeu.appliquerSelection) :
+ * si les trois cartes sélectionnées forment un E3C, la variation du score qui en découle,
+ * et les numéros des cartes de la table qui ont été remplacées par des cartes du paquet.
+ *
+ * Elle ne fait aucun affichage : c'est à l'appelant (console, serveur, banc de mesures...) de présenter le tour.
+ */
+public class ResultatTour {
+
+    private boolean e3c;
+    private int variationScore;
+    private int score;
+    private int[] selection;
+    private int nbCartesPiochees;
+
+    /**
+     * Pre-requis : 0 <= nbCartesPiochees <= selection.length
+     * Action : Construit le résultat d'un tour. Les nbCartesPiochees premiers numéros de selection
+     * ont reçu une nouvelle carte, les suivants sont restés vides (paquet épuisé).
+     */
+
+    public ResultatTour(boolean e3c, int variationScore, int score, int[] selection, int nbCartesPiochees) {
+        this.e3c = e3c;
+        this.variationScore = variationScore;
+        this.score = score;
+        this.selection = selection.clone();
+        this.nbCartesPiochees = nbCartesPiochees;
+    }
+
+    /**
+     * Résultat : Vrai si les cartes sélectionnées formaient un E3C.
+     */
+
+    public boolean estUnE3C() {
+        return this.e3c;
+    }
+
+    public int getVariationScore() {
+        return this.variationScore;
+    }
+
+    /**
+     * Résultat : Le score du joueur après ce tour.
+     */
+
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Résultat : Les numéros des cartes sélectionnées, dans l'ordre de la sélection.
+     */
+
+    public int[] getSelection() {
+        return this.selection.clone();
+    }
+
+    /**
+     * Résultat : Les numéros des cases de la table qui ont reçu une nouvelle carte.
+     */
+
+    public int[] getNumerosRemplaces() {
+        int[] numeros = new int[this.nbCartesPiochees];
+        System.arraycopy(this.selection, 0, numeros, 0, this.nbCartesPiochees);
+        return numeros;
+    }
+
+    /**
+     * Résultat : Le nombre de cartes piochées pour remplacer la sélection
+     * (moins de trois si le paquet s'est épuisé pendant ce tour).
+     */
+
+    public int getNbCartesPiochees() {
+        return this.nbCartesPiochees;
+    }
+
+    @Override
+    public String toString() {
+        return (this.e3c ? "E3C" : "pas d'E3C") + " (" + (this.variationScore > 0 ? "+" : "") + this.variationScore
+                + "), score " + this.score + ", " + this.nbCartesPiochees + " carte(s) piochée(s)";
+    }
+}
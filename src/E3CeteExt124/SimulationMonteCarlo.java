@@ -0,0 +1,168 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * La classe SimulationMonteCarlo estime la probabilité d'un évènement (voir EvenementTable) sur une table
+ * de hauteur x largeur cartes distribuées au hasard à partir d'un paquet standard de 81 cartes.
+ *
+ * Un essai ne distribue que les cartes de la table : les premières étapes d'un mélange de Fisher-Yates
+ * sur un tableau des 81 codes, sans construire ni Jeu, ni Paquet, ni Table, ni Carte.
+ * Le tableau n'est jamais remis dans l'ordre : mélanger une permutation quelconque donne le même résultat
+ * aléatoire que mélanger le paquet trié.
+ *
+ * Les essais sont répartis en blocs de ESSAIS_PAR_BLOC essais, exécutés en parallèle sur tous les processeurs.
+ * Chaque bloc a son propre générateur (SplittableRandom.split, dans l'ordre des blocs) et ajoute ses succès
+ * à un LongAdder à la fin : le résultat ne dépend que de la graine et du nombre d'essais,
+ * pas du nombre de processeurs ni de l'ordre d'exécution des blocs.
+ */
+public class SimulationMonteCarlo {
+
+    // nombre d'essais d'un bloc (un bloc est exécuté par un seul fil)
+    private static final int ESSAIS_PAR_BLOC = 1 << 20;
+
+    /**
+     * Vrai si la table contient au moins un E3C.
+     */
+    public static final EvenementTable CONTIENT_E3C = SimulationMonteCarlo::contientE3C;
+
+    /**
+     * Vrai si la table contient exactement trois cartes rouges (comme Jeu.proba3CR de E3CeteBase).
+     */
+    public static final EvenementTable TROIS_ROUGES = codes -> compterCouleur(codes, Couleur.ROUGE) == 3;
+
+    private int nbCartesTable;
+    private long graine;
+
+    /**
+     * Pre-requis : hauteur > 0, largeur > 0
+     * Action : Prépare une simulation sur des tables hauteur x largeur, dont les tirages dépendent de graine.
+     * Comme dans une partie, une table de plus de 81 cases ne reçoit que les 81 cartes du paquet
+     * (les autres cases restent vides).
+     */
+
+    public SimulationMonteCarlo(int hauteur, int largeur, long graine) {
+        this.nbCartesTable = (int) Math.min((long) hauteur * largeur, Carte.NB_CARTES);
+        this.graine = graine;
+    }
+
+    /**
+     * Pre-requis : nbEssais > 0
+     * Action : Distribue nbEssais tables indépendantes et compte celles pour lesquelles l'évènement est réalisé.
+     * L'évènement est appelé depuis plusieurs fils en même temps : il ne doit pas modifier d'état partagé.
+     * Résultat : L'estimation de la probabilité de l'évènement.
+     */
+
+    public EstimationProbabilite estimer(EvenementTable evenement, long nbEssais) {
+        long nbBlocs = (nbEssais + ESSAIS_PAR_BLOC - 1) / ESSAIS_PAR_BLOC;
+        if (nbBlocs > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop d'essais : " + nbEssais);
+        }
+        SplittableRandom racine = new SplittableRandom(this.graine);
+        SplittableRandom[] generateurs = new SplittableRandom[(int) nbBlocs];
+        for (int i = 0; i < generateurs.length; i++) {
+            generateurs[i] = racine.split();
+        }
+        LongAdder nbSucces = new LongAdder();
+        IntStream.range(0, generateurs.length).parallel().forEach(bloc -> {
+            long nbEssaisBloc = Math.min(ESSAIS_PAR_BLOC, nbEssais - (long) bloc * ESSAIS_PAR_BLOC);
+            nbSucces.add(this.simulerBloc(evenement, nbEssaisBloc, generateurs[bloc]));
+        });
+        return new EstimationProbabilite(nbEssais, nbSucces.sum());
+    }
+
+    /**
+     * Action : Exécute nbEssais essais avec le générateur aleatoire (dans le fil courant).
+     * Résultat : Le nombre d'essais pour lesquels l'évènement est réalisé.
+     */
+
+    private long simulerBloc(EvenementTable evenement, long nbEssais, SplittableRandom aleatoire) {
+        int[] paquet = new int[Carte.NB_CARTES];
+        for (int i = 0; i < paquet.length; i++) {
+            paquet[i] = i;
+        }
+        int[] table = new int[this.nbCartesTable];
+        long nbSucces = 0;
+        for (long essai = 0; essai < nbEssais; essai++) {
+            // les nbCartesTable premières étapes du mélange : la i-ème carte est tirée parmi les cartes restantes
+            for (int i = 0; i < table.length; i++) {
+                int dessus = paquet.length - 1 - i;
+                int ran = aleatoire.nextInt(dessus + 1);
+                int temp = paquet[dessus];
+                paquet[dessus] = paquet[ran];
+                paquet[ran] = temp;
+                table[i] = paquet[dessus];
+            }
+            if (evenement.estRealise(table)) {
+                nbSucces++;
+            }
+        }
+        return nbSucces;
+    }
+
+    /**
+     * Pre-requis : codes contient des codes de cartes standard tous différents.
+     * Résultat : Vrai si deux cartes de codes forment un E3C avec une troisième carte de codes.
+     * Les cartes présentes sont marquées dans un masque de 81 bits, et pour chaque paire on teste la présence
+     * de la carte qui la complète (voir Jeu.getTroisiemeCarte).
+     */
+
+    public static boolean contientE3C(int[] codes) {
+        long presentesBas = 0;
+        long presentesHaut = 0;
+        for (int code : codes) {
+            if (code < 64) {
+                presentesBas |= 1L << code;
+            } else {
+                presentesHaut |= 1L << (code - 64);
+            }
+        }
+        for (int i = 0; i < codes.length - 1; i++) {
+            for (int j = i + 1; j < codes.length; j++) {
+                int troisieme = Jeu.getTroisiemeCarte(codes[i], codes[j]);
+                long presente = troisieme < 64 ? presentesBas >>> troisieme : presentesHaut >>> (troisieme - 64);
+                if ((presente & 1) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Résultat : Le nombre de cartes de la couleur donnée parmi les codes (la couleur d'un code est code / 27).
+     */
+
+    public static int compterCouleur(int[] codes, Couleur couleur) {
+        int nbCartesParCouleur = Carte.NB_CARTES / Couleur.values().length;
+        int nombre = 0;
+        for (int code : codes) {
+            if (code / nbCartesParCouleur == couleur.ordinal()) {
+                nombre++;
+            }
+        }
+        return nombre;
+    }
+
+    /**
+     * Action : Estime les probabilités de CONTIENT_E3C et TROIS_ROUGES.
+     * Usage : java SimulationMonteCarlo [hauteur] [largeur] [nbEssais] [graine] (par défaut 3 3 10000000 2023).
+     */
+
+    public static void main(String[] args) {
+        int hauteur = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int largeur = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long nbEssais = args.length > 2 ? Long.parseLong(args[2]) : 10_000_000L;
+        long graine = args.length > 3 ? Long.parseLong(args[3]) : 2023;
+        SimulationMonteCarlo simulation = new SimulationMonteCarlo(hauteur, largeur, graine);
+        long debut = System.nanoTime();
+        EstimationProbabilite e3c = simulation.estimer(CONTIENT_E3C, nbEssais);
+        long milieu = System.nanoTime();
+        EstimationProbabilite rouges = simulation.estimer(TROIS_ROUGES, nbEssais);
+        long fin = System.nanoTime();
+        System.out.println("Table " + hauteur + "x" + largeur + ", " + Runtime.getRuntime().availableProcessors()
+                + " processeur(s)");
+        System.out.println("Au moins un E3C : " + e3c + ", " + (long) (nbEssais * 1e9 / (milieu - debut)) + " essais/s");
+        System.out.println("Trois rouges    : " + rouges + ", " + (long) (nbEssais * 1e9 / (fin - milieu)) + " essais/s");
+    }
+}
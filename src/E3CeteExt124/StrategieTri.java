@@ -0,0 +1,20 @@
+/**
+ * Une StrategieTri est une manière de trier un Paquet.
+ * Comme pour les méthodes de tri de Paquet, le paquet passé en paramètre n'est pas modifié :
+ * un nouveau paquet trié est renvoyé, et les cartes déjà piochées sont ignorées.
+ */
+public interface StrategieTri {
+
+    /**
+     * Résultat : Un nouveau paquet contenant les cartes restantes de "paquet", triées selon Carte.compareTo.
+     */
+    Paquet trier(Paquet paquet);
+
+    /**
+     * Résultat : Comme trier(paquet), en remplissant les compteurs s'ils ne sont pas null (voir CompteursTri).
+     * Par défaut, une stratégie ne compte rien.
+     */
+    default Paquet trier(Paquet paquet, CompteursTri compteurs) {
+        return this.trier(paquet);
+    }
+}
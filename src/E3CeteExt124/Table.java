@@ -1,189 +1,457 @@
-/**
- * La classe Table représente une table de jeu contenant des cartes.
- *
- * La table est représentée graphiquement par une matrice.
- * On peut donc avoir des tables de dimensions 3x3, 3x4, 4x4, 5x5, 10x15...
- * En mémoire, la Table est représentée par un simple tableau (à une dimension)
- * Quand elle est initialisée, la table est vide.
- *
- * Pour désigner une carte sur la table, on utilise des coordonées (i,j) ou i représenta la ligne et j la colonne.
- * Les lignes et colonnes sont numérotés à partir de 1.
- * Les cartes sont numérotées à partir de 1.
- *
- * Par exemple, sur une table 3x3, la carte en position (1,1) est la premiere carte du tableau, soit celle à l'indice 0.
- * La carte (2,1) => carte numéro 4 stockée à l'indice 3  dans le tableau représenatnt la table
- * La carte (3,3) => carte numéro 9 stockée à l'indice 8  dans le tableau représenatnt la table
- */
-public class Table {
-    private int hauteur;
-    private int largeur;
-    private Carte[][] tableau;
-
-    /**
-     * Pre-requis : hauteur >=3, largeur >=3
-     *
-     * Action : Construit une table "vide" avec les dimensions précisées en paramètre.
-     *
-     * Exemple : hauteur : 3, largeur : 3 => construit une table 3x3 (pouvant donc accueillir 9 cartes).
-     */
-
-    public Table(int hauteur, int largeur){
-        this.hauteur = hauteur;
-        this.largeur = largeur;
-        this.tableau = new Carte[hauteur][largeur];
-    }
-
-    /**
-     * Résullat : Le nombre de cartes que la table peut stocker.
-     */
-
-    public int getTaille() {
-        return hauteur * largeur;
-    }
-
-    public Carte[][] getTableau(){
-        return this.tableau;
-    }  
-
-    public void setTableauCase(int x, int y, Carte carte){
-        this.tableau[x][y] = carte;
-    }
-
-    public int getHauteur(){
-        return this.hauteur;
-    }
-
-    public int getLargeur(){
-        return this.largeur;
-    }
-
-    /**
-     * Pre-requis : la table est pleine
-     * Action : Affiche des cartes de la table sous forme de matrice
-     * L'affichage des cartes doit respecter le format défini dans la classe Carte (chaque carte doit donc être colorée).
-     * On ne donne volontairement pas d'exemple puisque celà depend du choix fait pour votre représentation de Carte
-     */
-
-    public String toString() {
-        String resultat = "   ";
-        for (int j = 1; j <= largeur; j++) {
-            resultat += j + " ";
-        }
-        resultat += "\n";
-    
-        for (int i = 0; i < hauteur; i++) {
-            resultat += (char)('A' + i) + " ";
-            for (int j = 0; j < largeur; j++) {
-                if (tableau[i][j] != null) {
-                    resultat += tableau[i][j] + " ";
-                } else {
-                    resultat += "[Vide] ";
-                }
-            }
-            resultat += "\n";
-        }
-        return resultat;
-    }
-    
-
-    /**
-     * Résullat : Vrai la carte située aux coordonnées précisées en paramètre est une carte possible pour la table.
-     */
-    public boolean carteExiste(Coordonnees coordonnees) {
-        int ligne = coordonnees.getLigne();
-        int colonne = coordonnees.getColonne();
-        return ligne >= 0 && ligne < this.hauteur && colonne >= 0 && colonne < this.largeur && this.tableau[ligne][colonne]!=null;
-    }
-
-    /**
-     * Pre-requis :
-     *  Il reste des cartes sur la table.
-     *
-     * Action : Fait sélectionner au joueur (par saisie de ses coordonnées) une carte valide (existante) de la table.
-     * L'algorithme doit faire recommencer la saisie au joueur s'il ne saisit pas une carte valide.
-     *
-     * Résullat : Le numéro de carte sélectionné.
-     *
-     */
-
-    public int faireSelectionneUneCarte() {
-        int numeroCarte = -1;
-    
-        while (numeroCarte == -1) {
-            System.out.println("Entrez les coordonnées (ex. A,1):");
-            String input = Ut.saisirChaine();
-            if (Coordonnees.formatEstValide(input)) {
-                Coordonnees coord = new Coordonnees(input);
-                if (carteExiste(coord)) {
-                    numeroCarte = coord.getLigne() * largeur + coord.getColonne() + 1;
-                } else {
-                    Ut.afficherSL("Coordonnées invalides. Veuillez saisir des coordonnées valides.");
-                }
-            } else {
-                Ut.afficherSL("Format invalide. Veuillez entrer les coordonnées au format Lettre,Chiffre.");
-            }
-        }
-        
-        return numeroCarte;
-    }
-    
-    
-
-    /**
-     * Pre-requis : 1<=nbCartes <= nombre de Cartes de this
-     * Action : Fait sélectionner nbCartes Cartes au joueur  sur la table en le faisant recommencer jusqu'à avoir une sélection valide.
-     * Il ne doit pas y avoir de doublons dans les numéros de cartes sélectionnées.
-     * Résullat : Un tableau contenant les numéros de cartes sélectionnées.
-     */
-
-    public int[] selectionnerCartesJoueur(int nbCartes) {
-        int[] selection = new int[nbCartes];
-        int cartesSelectionnees = 0;
-    
-        while (cartesSelectionnees < nbCartes) {
-            int numeroCarte = faireSelectionneUneCarte();
-            boolean estDejaSelectionnee = false;
-
-            for (int j = 0; j < cartesSelectionnees; j++) {
-                if (selection[j] == numeroCarte) {
-                    estDejaSelectionnee = true;
-                    Ut.afficherSL("Cette carte a déjà été sélectionnée. Veuillez en choisir une autre.");
-                }
-            }
-
-            if (!estDejaSelectionnee) {
-                selection[cartesSelectionnees] = numeroCarte;
-                cartesSelectionnees++;
-            }
-        }
-    
-        return selection;
-    }
-    
-    
-
-    /**
-     * Action : Affiche les cartes de la table correspondantes aux numéros de cartes contenus dans selection
-     * Exemple de format d'affichage : "Sélection : 2-O-H 3-O-H 2-C-H"
-     * Les cartes doivent être affichées "colorées"
-     */
-
-     public void afficherSelection(int[] selection) {
-        String resultat = " ";
-    
-        for (int i = 0; i < selection.length; i++) {
-            int numeroCarte = selection[i];
-            int ligne = (numeroCarte - 1) / largeur;
-            int colonne = (numeroCarte - 1) % largeur;
-            char ligneLettre = (char)('A' + ligne);
-            int colonneChiffre = colonne + 1;
-    
-            if (tableau[ligne][colonne] != null) {
-                resultat += ligneLettre + "," + colonneChiffre + " : " + tableau[ligne][colonne].toString() + "     ";
-            } else {
-                resultat += ligneLettre + "," + colonneChiffre + " : [Vide]     ";
-            }
-        }
-        Ut.afficherSL(resultat);
-    }
-}
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * La classe Table représente une table de jeu contenant des cartes.
+ *
+ * La table est représentée graphiquement par une matrice.
+ * On peut donc avoir des tables de dimensions 3x3, 3x4, 4x4, 5x5, 10x15...
+ * En mémoire, la Table est représentée par un simple tableau (à une dimension)
+ * Quand elle est initialisée, la table est vide.
+ *
+ * Pour désigner une carte sur la table, on utilise des coordonées (i,j) ou i représenta la ligne et j la colonne.
+ * Les lignes et colonnes sont numérotés à partir de 1.
+ * Les cartes sont numérotées à partir de 1.
+ *
+ * Par exemple, sur une table 3x3, la carte en position (1,1) est la premiere carte du tableau, soit celle à l'indice 0.
+ * La carte (2,1) => carte numéro 4 stockée à l'indice 3  dans le tableau représenatnt la table
+ * La carte (3,3) => carte numéro 9 stockée à l'indice 8  dans le tableau représenatnt la table
+ */
+public class Table {
+    private int hauteur;
+    private int largeur;
+    private Carte[][] tableau;
+    // codes[numero-1] : code (Carte.getCode) de la carte numéro "numero", ou -1 si la case est vide
+    private int[] codes;
+    private int nbCartesHorsEspaceStandard;
+    // index des E3C maintenu par setTableauCase (null tant qu'il n'est pas activé)
+    private IndexE3C indexE3C;
+    // représentation de la table en masques de bits maintenue par setTableauCase (null tant qu'elle n'est pas activée)
+    private MasquesE3C masquesE3C;
+
+    /**
+     * Pre-requis : hauteur >=3, largeur >=3
+     *
+     * Action : Construit une table "vide" avec les dimensions précisées en paramètre.
+     *
+     * Exemple : hauteur : 3, largeur : 3 => construit une table 3x3 (pouvant donc accueillir 9 cartes).
+     */
+
+    public Table(int hauteur, int largeur){
+        this.hauteur = hauteur;
+        this.largeur = largeur;
+        this.tableau = new Carte[hauteur][largeur];
+        this.codes = new int[hauteur * largeur];
+        Arrays.fill(this.codes, -1);
+    }
+
+    /**
+     * Résullat : Le nombre de cartes que la table peut stocker.
+     */
+
+    public int getTaille() {
+        return hauteur * largeur;
+    }
+
+    public Carte[][] getTableau(){
+        return this.tableau;
+    }  
+
+    /**
+     * Action : Place la carte (éventuellement null) en ligne x, colonne y et met à jour l'index des codes.
+     * Les cartes de la table doivent toujours être modifiées par cette méthode.
+     */
+
+    public void setTableauCase(int x, int y, Carte carte){
+        int numero = x * this.largeur + y;
+        if (this.tableau[x][y] != null && this.tableau[x][y].getCode() < 0) {
+            this.nbCartesHorsEspaceStandard--;
+        }
+        if (carte != null && carte.getCode() < 0) {
+            this.nbCartesHorsEspaceStandard++;
+        }
+        if (this.indexE3C != null) {
+            this.indexE3C.retirer(numero);
+        }
+        if (this.masquesE3C != null) {
+            this.masquesE3C.retirer(numero);
+        }
+        this.tableau[x][y] = carte;
+        this.codes[numero] = carte == null ? -1 : carte.getCode();
+        if (this.codes[numero] >= 0) {
+            if (this.masquesE3C != null) {
+                this.masquesE3C.ajouter(numero);
+            }
+            if (this.indexE3C != null) {
+                this.indexE3C.ajouter(numero);
+            }
+        }
+    }
+
+    /**
+     * Pre-requis : les numéros de cartes sont compris entre 1 et getTaille().
+     * Action : Pioche une carte du paquet pour chaque case numerosDeCartes[i] et l'y place directement
+     * (sans tableau intermédiaire). Quand le paquet est vide, les cases restantes sont vidées (null).
+     * Résultat : Le nombre de cartes placées.
+     */
+
+    public int placerCartes(Paquet paquet, int[] numerosDeCartes) {
+        int nbPlacees = 0;
+        for (int i = 0; i < numerosDeCartes.length; i++) {
+            int numero = numerosDeCartes[i] - 1;
+            Carte carte = null;
+            if (!paquet.estVide()) {
+                carte = paquet.piocherCarte();
+                nbPlacees++;
+            }
+            this.setTableauCase(numero / this.largeur, numero % this.largeur, carte);
+        }
+        return nbPlacees;
+    }
+
+    /**
+     * Action : Active l'index des E3C de la table (voir IndexE3C).
+     * Chaque appel à setTableauCase coûte alors O(n) de plus (n étant la taille de la table),
+     * mais contientE3C et getNbE3C deviennent immédiats et chercherE3C passe en O(n).
+     * L'index n'est utile que si la table est interrogée bien plus souvent qu'elle n'est modifiée :
+     * la recherche sans index s'arrête au premier E3C, souvent très tôt.
+     */
+
+    public void activerIndexE3C() {
+        if (this.indexE3C == null) {
+            this.indexE3C = new IndexE3C(this.codes);
+        }
+    }
+
+    /**
+     * Action : Active les masques de bits de la table (voir MasquesE3C), mis à jour ensuite par setTableauCase
+     * (4 mots modifiés par carte posée ou retirée) : chercherE3CParMasques n'a plus à les construire à chaque appel.
+     */
+
+    public void activerMasquesE3C() {
+        if (this.masquesE3C == null) {
+            this.masquesE3C = new MasquesE3C(this.codes);
+        }
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Résultat : Vrai s'il y a au moins un E3C sur la table.
+     */
+
+    public boolean contientE3C() {
+        if (this.indexE3C != null) {
+            return this.indexE3C.getNbE3C() > 0;
+        }
+        return this.chercherE3C() != null;
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Résultat : Le nombre d'E3C présents sur la table.
+     */
+
+    public long getNbE3C() {
+        if (this.indexE3C != null) {
+            return this.indexE3C.getNbE3C();
+        }
+        return this.compterE3C();
+    }
+
+    /**
+     * Pre-requis : l'index des E3C est activé, 1 <= numeroCarte <= getTaille()
+     * Résultat : Le nombre d'E3C de la table auxquels participe la carte numéro numeroCarte.
+     */
+
+    public int getNbE3CCase(int numeroCarte) {
+        return this.indexE3C.getNbE3CCase(numeroCarte - 1);
+    }
+
+    /**
+     * Résultat : Vrai si toutes les cartes de la table appartiennent à l'espace standard (voir Carte.getCode),
+     * c'est-à-dire si les recherches par code peuvent être utilisées.
+     */
+
+    public boolean estIndexable() {
+        return this.nbCartesHorsEspaceStandard == 0;
+    }
+
+    /**
+     * Pre-requis : premiereCase.length == Carte.NB_CARTES, caseSuivante.length == codes.length
+     * Action : Indexe les cases par code de carte :
+     *  - premiereCase[code] reçoit la première case contenant ce code (-1 s'il n'y en a pas),
+     *  - caseSuivante[i] reçoit la case suivante contenant le même code que la case i (-1 s'il n'y en a pas).
+     * Les cases ayant un même code sont ainsi chaînées dans l'ordre croissant.
+     */
+
+    static void indexerCodes(int[] codes, int[] premiereCase, int[] caseSuivante) {
+        Arrays.fill(premiereCase, -1);
+        for (int i = codes.length - 1; i >= 0; i--) {
+            int code = codes[i];
+            if (code >= 0) {
+                caseSuivante[i] = premiereCase[code];
+                premiereCase[code] = i;
+            }
+        }
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Action : Recherche un E3C parmi les cartes disposées sur la table en indexant les cartes par code.
+     * Pour chaque paire de cartes (i,j), on regarde si la carte qui complète l'E3C est présente après j.
+     * Le coût est donc quadratique (au lieu de cubique) et la recherche s'arrête au premier E3C trouvé.
+     * Si l'index des E3C est activé, il est utilisé directement (coût linéaire).
+     * Résultat :
+     *  - Si un E3C existe, un tableau contenant les numéros de cartes (de la table) qui forment un E3C.
+     *    C'est le plus petit triplet (dans l'ordre des numéros), comme pour Jeu.chercherE3CSurTableExhaustive.
+     *  - Sinon, la valeur null.
+     */
+
+    public int[] chercherE3C() {
+        if (this.indexE3C != null) {
+            return this.indexE3C.chercherE3C();
+        }
+        int taille = this.getTaille();
+        int[] premiereCase = new int[Carte.NB_CARTES];
+        int[] caseSuivante = new int[taille];
+        indexerCodes(this.codes, premiereCase, caseSuivante);
+        for (int i = 0; i < taille - 2; i++) {
+            int codeI = this.codes[i];
+            if (codeI >= 0) {
+                for (int j = i + 1; j < taille - 1; j++) {
+                    int codeJ = this.codes[j];
+                    if (codeJ >= 0) {
+                        int k = premiereCase[Jeu.getTroisiemeCarte(codeI, codeJ)];
+                        while (k != -1 && k <= j) {
+                            k = caseSuivante[k];
+                        }
+                        if (k != -1) {
+                            int[] e3c = {i + 1, j + 1, k + 1};
+                            return e3c;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Action : Recherche un E3C sur la table à l'aide de sa représentation en masques de bits (voir MasquesE3C).
+     * Si les masques ne sont pas activés (voir activerMasquesE3C), ils sont construits pour cette seule recherche.
+     * Résultat : Le même triplet que chercherE3C, ou null s'il n'y a pas d'E3C.
+     */
+
+    public int[] chercherE3CParMasques() {
+        if (this.masquesE3C == null) {
+            return new MasquesE3C(this.codes).chercherE3C();
+        }
+        return this.masquesE3C.chercherE3C();
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Action : Recherche un E3C sur la table en répartissant les premières cartes des triplets entre plusieurs fils
+     * d'exécution (voir RechercheE3CParallele). En dessous de RechercheE3CParallele.SEUIL_CASES cases,
+     * la recherche reste séquentielle (chercherE3C).
+     *  - deterministe : le plus petit triplet est renvoyé, comme pour chercherE3C.
+     *  - sinon : le premier E3C trouvé par l'une des tâches est renvoyé, les autres tâches s'arrêtent.
+     * Résultat : Les numéros de cartes d'un E3C, ou null s'il n'y en a pas.
+     */
+
+    public int[] chercherE3CParallele(boolean deterministe) {
+        if (this.getTaille() < RechercheE3CParallele.SEUIL_CASES) {
+            return this.chercherE3C();
+        }
+        return RechercheE3CParallele.chercher(this.codes, deterministe);
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Résultat : Un parcours (paresseux) de tous les E3C de la table, dans l'ordre des numéros de cartes.
+     */
+
+    public ParcoursE3C parcourirE3C() {
+        return new ParcoursE3C(this.codes);
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Résultat : Un flux (paresseux et séquentiel) de tous les E3C de la table, dans l'ordre des numéros de cartes.
+     * Chaque élément est un tableau contenant les numéros des trois cartes.
+     */
+
+    public Stream<int[]> fluxE3C() {
+        Spliterator<int[]> spliterator = Spliterators.spliteratorUnknownSize(this.parcourirE3C(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Pre-requis : estIndexable()
+     * Résultat : Le nombre d'E3C présents sur la table, calculé sans énumérer les triplets.
+     * On parcourt les cartes de la dernière à la première en comptant les codes déjà vus (donc situés après j) :
+     * pour chaque paire (i,j), le nombre d'E3C (i,j,k) avec k > j est le nombre de cartes vues ayant le code complétant.
+     */
+
+    public long compterE3C() {
+        int taille = this.getTaille();
+        int[] nbApres = new int[Carte.NB_CARTES];
+        long nombre = 0;
+        for (int j = taille - 1; j >= 0; j--) {
+            int codeJ = this.codes[j];
+            if (codeJ >= 0) {
+                for (int i = 0; i < j; i++) {
+                    int codeI = this.codes[i];
+                    if (codeI >= 0) {
+                        nombre += nbApres[Jeu.getTroisiemeCarte(codeI, codeJ)];
+                    }
+                }
+                nbApres[codeJ]++;
+            }
+        }
+        return nombre;
+    }
+
+    public int getHauteur(){
+        return this.hauteur;
+    }
+
+    public int getLargeur(){
+        return this.largeur;
+    }
+
+    /**
+     * Pre-requis : la table est pleine
+     * Action : Affiche des cartes de la table sous forme de matrice
+     * L'affichage des cartes doit respecter le format défini dans la classe Carte (chaque carte doit donc être colorée).
+     * On ne donne volontairement pas d'exemple puisque celà depend du choix fait pour votre représentation de Carte
+     */
+
+    public String toString() {
+        String resultat = "   ";
+        for (int j = 1; j <= largeur; j++) {
+            resultat += j + " ";
+        }
+        resultat += "\n";
+    
+        for (int i = 0; i < hauteur; i++) {
+            resultat += (char)('A' + i) + " ";
+            for (int j = 0; j < largeur; j++) {
+                if (tableau[i][j] != null) {
+                    resultat += tableau[i][j] + " ";
+                } else {
+                    resultat += "[Vide] ";
+                }
+            }
+            resultat += "\n";
+        }
+        return resultat;
+    }
+    
+
+    /**
+     * Résullat : Vrai la carte située aux coordonnées précisées en paramètre est une carte possible pour la table.
+     */
+    public boolean carteExiste(Coordonnees coordonnees) {
+        int ligne = coordonnees.getLigne();
+        int colonne = coordonnees.getColonne();
+        return ligne >= 0 && ligne < this.hauteur && colonne >= 0 && colonne < this.largeur && this.tableau[ligne][colonne]!=null;
+    }
+
+    /**
+     * Pre-requis :
+     *  Il reste des cartes sur la table.
+     *
+     * Action : Fait sélectionner au joueur (par saisie de ses coordonnées) une carte valide (existante) de la table.
+     * L'algorithme doit faire recommencer la saisie au joueur s'il ne saisit pas une carte valide.
+     *
+     * Résullat : Le numéro de carte sélectionné.
+     *
+     */
+
+    public int faireSelectionneUneCarte() {
+        int numeroCarte = -1;
+    
+        while (numeroCarte == -1) {
+            System.out.println("Entrez les coordonnées (ex. A,1):");
+            String input = Ut.saisirChaine();
+            if (Coordonnees.formatEstValide(input)) {
+                Coordonnees coord = new Coordonnees(input);
+                if (carteExiste(coord)) {
+                    numeroCarte = coord.getLigne() * largeur + coord.getColonne() + 1;
+                } else {
+                    Ut.afficherSL("Coordonnées invalides. Veuillez saisir des coordonnées valides.");
+                }
+            } else {
+                Ut.afficherSL("Format invalide. Veuillez entrer les coordonnées au format Lettre,Chiffre.");
+            }
+        }
+        
+        return numeroCarte;
+    }
+    
+    
+
+    /**
+     * Pre-requis : 1<=nbCartes <= nombre de Cartes de this
+     * Action : Fait sélectionner nbCartes Cartes au joueur  sur la table en le faisant recommencer jusqu'à avoir une sélection valide.
+     * Il ne doit pas y avoir de doublons dans les numéros de cartes sélectionnées.
+     * Résullat : Un tableau contenant les numéros de cartes sélectionnées.
+     */
+
+    public int[] selectionnerCartesJoueur(int nbCartes) {
+        int[] selection = new int[nbCartes];
+        int cartesSelectionnees = 0;
+    
+        while (cartesSelectionnees < nbCartes) {
+            int numeroCarte = faireSelectionneUneCarte();
+            boolean estDejaSelectionnee = false;
+
+            for (int j = 0; j < cartesSelectionnees; j++) {
+                if (selection[j] == numeroCarte) {
+                    estDejaSelectionnee = true;
+                    Ut.afficherSL("Cette carte a déjà été sélectionnée. Veuillez en choisir une autre.");
+                }
+            }
+
+            if (!estDejaSelectionnee) {
+                selection[cartesSelectionnees] = numeroCarte;
+                cartesSelectionnees++;
+            }
+        }
+    
+        return selection;
+    }
+    
+    
+
+    /**
+     * Action : Affiche les cartes de la table correspondantes aux numéros de cartes contenus dans selection
+     * Exemple de format d'affichage : "Sélection : 2-O-H 3-O-H 2-C-H"
+     * Les cartes doivent être affichées "colorées"
+     */
+
+     public void afficherSelection(int[] selection) {
+        String resultat = " ";
+    
+        for (int i = 0; i < selection.length; i++) {
+            int numeroCarte = selection[i];
+            int ligne = (numeroCarte - 1) / largeur;
+            int colonne = (numeroCarte - 1) % largeur;
+            char ligneLettre = (char)('A' + ligne);
+            int colonneChiffre = colonne + 1;
+    
+            if (tableau[ligne][colonne] != null) {
+                resultat += ligneLettre + "," + colonneChiffre + " : " + tableau[ligne][colonne].toString() + "     ";
+            } else {
+                resultat += ligneLettre + "," + colonneChiffre + " : [Vide]     ";
+            }
+        }
+        Ut.afficherSL(resultat);
+    }
+}
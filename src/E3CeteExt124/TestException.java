@@ -1,10 +1,10 @@
-/**
- * Classe servant pour les tests.
- * A ne pas modifier !
- */
-public class TestException extends Error {
-
-    public TestException(String message) {
-        super(message);
-    }
-}
+/**
+ * Classe servant pour les tests.
+ * A ne pas modifier !
+ */
+public class TestException extends Error {
+
+    public TestException(String message) {
+        super(message);
+    }
+}
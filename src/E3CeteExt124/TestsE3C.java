@@ -0,0 +1,1184 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Tests de cohérence des algorithmes rapides avec leur version de référence :
+ * - chaque recherche d'E3C doit renvoyer exactement le même résultat que Jeu.chercherE3CSurTableExhaustive,
+ *   sur des tables tirées au hasard,
+ * - un paquet mélangé à la pioche doit donner les mêmes cartes qu'un paquet mélangé à la construction,
+ * - la validation en masse (ValidationE3C) doit donner le même résultat que Jeu.estUnE3C, triplet par triplet,
+ * - les tris de Paquet doivent tous donner les cartes restantes dans l'ordre de compareTo
+ *   (et le tri parallèle doit être stable),
+ * - un paquet construit à partir d'un modèle de jeu en cache doit être celui construit sans cache,
+ * - une réserve de paquets arrêtée ne doit plus avoir de producteur en vie,
+ * - une probabilité connue exactement doit être dans l'intervalle de confiance estimé par SimulationMonteCarlo,
+ * - CalculExactE3C doit donner les mêmes nombres de tables qu'une énumération de toutes les petites tables,
+ *   et des probabilités dans l'intervalle de confiance estimé par SimulationMonteCarlo,
+ * - deux séries de parties de l'ordinateur de même graine doivent donner les mêmes résultats,
+ * - une partie de l'ordinateur dont le fil est interrompu doit s'arrêter sans être jouée jusqu'au bout,
+ * - Jeu.appliquerSelection doit refuser une sélection invalide sans modifier le jeu, et donner le résultat
+ *   attendu (score, cartes remplacées) pour une sélection valide.
+ * Les données sont tirées avec une graine fixée : un échec se reproduit à l'identique.
+ */
+public class TestsE3C {
+
+    // nombre de tables tirées par test
+    private static final int NB_TABLES = 3000;
+
+    public static void main(String[]args) {
+        runTest(TestsE3C::testChercherE3C, "testChercherE3C");
+        runTest(TestsE3C::testCompterE3C, "testCompterE3C");
+        runTest(TestsE3C::testChercherE3CParallele, "testChercherE3CParallele");
+        runTest(TestsE3C::testIndexE3C, "testIndexE3C");
+        runTest(TestsE3C::testChercherE3CParMasques, "testChercherE3CParMasques");
+        runTest(TestsE3C::testMelangeALaPioche, "testMelangeALaPioche");
+        runTest(TestsE3C::testValidationE3C, "testValidationE3C");
+        runTest(TestsE3C::testTrisLineaires, "testTrisLineaires");
+        runTest(TestsE3C::testTriParallele, "testTriParallele");
+        runTest(TestsE3C::testChoixMethodeTri, "testChoixMethodeTri");
+        runTest(TestsE3C::testPioche, "testPioche");
+        runTest(TestsE3C::testJeuxDeMemeGraine, "testJeuxDeMemeGraine");
+        runTest(TestsE3C::testGrandsPaquets, "testGrandsPaquets");
+        runTest(TestsE3C::testModelesDeJeux, "testModelesDeJeux");
+        runTest(TestsE3C::testArretReserveDePaquets, "testArretReserveDePaquets");
+        runTest(TestsE3C::testSimulationMonteCarlo, "testSimulationMonteCarlo");
+        runTest(TestsE3C::testCalculExactE3C, "testCalculExactE3C");
+        runTest(TestsE3C::testPartiesOrdinateur, "testPartiesOrdinateur");
+        runTest(TestsE3C::testInterruptionJeuOrdinateur, "testInterruptionJeuOrdinateur");
+        runTest(TestsE3C::testAppliquerSelection, "testAppliquerSelection");
+    }
+
+    public static void runTest(Runnable r, String s){
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executorService.submit(r);
+            future.get(30L, TimeUnit.SECONDS);
+            System.out.println("****************************************************");
+            System.out.println(" \u001B[32m"+ s + " terminé avec succès\u001B[0m");
+            System.out.println("****************************************************");
+        } catch (TimeoutException e) {
+            System.out.println("****************************************************");
+            System.out.println("\u001B[31m" + s + " timeout\u001B[0m");
+            System.out.println("****************************************************");
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.println("****************************************************");
+            System.out.println("\u001B[31m" + s + " erreur " + e.getCause().getMessage()+"\u001B[0m");
+            System.out.println("****************************************************");
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Pre-requis : 0 <= pourcentageVides < 100
+     * Action : Remplit la table du jeu avec des cartes de l'espace standard tirées au hasard (avec remise,
+     * il peut donc y avoir des doublons), en laissant environ pourcentageVides cases sur cent vides.
+     */
+
+    private static void remplirAuHasard(Jeu jeu, SplittableRandom aleatoire, int pourcentageVides) {
+        Table table = jeu.getTable();
+        for (int x = 0; x < table.getHauteur(); x++) {
+            for (int y = 0; y < table.getLargeur(); y++) {
+                Carte carte = aleatoire.nextInt(100) < pourcentageVides ? null : Carte.getCarte(aleatoire.nextInt(Carte.NB_CARTES));
+                table.setTableauCase(x, y, carte);
+            }
+        }
+    }
+
+    /**
+     * Résultat : Une table sans index (voir Table.activerIndexE3C) contenant les mêmes cartes que table.
+     */
+
+    private static Table copierSansIndex(Table table) {
+        Table copie = new Table(table.getHauteur(), table.getLargeur());
+        for (int x = 0; x < table.getHauteur(); x++) {
+            for (int y = 0; y < table.getLargeur(); y++) {
+                copie.setTableauCase(x, y, table.getTableau()[x][y]);
+            }
+        }
+        return copie;
+    }
+
+    /**
+     * Résultat : Tous les E3C de la table, dans l'ordre des numéros de cartes, trouvés en testant tous les triplets
+     * avec Jeu.estUnE3C (comme Jeu.chercherE3CSurTableExhaustive).
+     */
+
+    private static List<int[]> listerE3CExhaustif(Table table) {
+        List<int[]> e3c = new ArrayList<>();
+        int taille = table.getTaille();
+        int largeur = table.getLargeur();
+        Carte[][] tableau = table.getTableau();
+        for (int i = 0; i < taille; i++) {
+            for (int j = i + 1; j < taille; j++) {
+                for (int k = j + 1; k < taille; k++) {
+                    Carte[] cartes = {tableau[i / largeur][i % largeur], tableau[j / largeur][j % largeur],
+                        tableau[k / largeur][k % largeur]};
+                    if (cartes[0] != null && cartes[1] != null && cartes[2] != null && Jeu.estUnE3C(cartes)) {
+                        e3c.add(new int[] {i + 1, j + 1, k + 1});
+                    }
+                }
+            }
+        }
+        return e3c;
+    }
+
+    private static void verifTriplet(String methode, int[] attendu, int[] obtenu, Table table) {
+        if (!Arrays.equals(attendu, obtenu)) {
+            throw new TestException(String.format("%s renvoie %s au lieu de %s sur la table :%n%s", methode,
+                    Arrays.toString(obtenu), Arrays.toString(attendu), table));
+        }
+    }
+
+    public static void testChercherE3C() {
+        SplittableRandom aleatoire = new SplittableRandom(2023);
+        for (int t = 0; t < NB_TABLES; t++) {
+            int hauteur = 3 + aleatoire.nextInt(4);
+            int largeur = 3 + aleatoire.nextInt(4);
+            Jeu jeu = new Jeu(hauteur, largeur, aleatoire.split());
+            remplirAuHasard(jeu, aleatoire, 20);
+            int[] attendu = jeu.chercherE3CSurTableExhaustive();
+            Table table = copierSansIndex(jeu.getTable());
+            verifTriplet("Table.chercherE3C", attendu, table.chercherE3C(), table);
+        }
+    }
+
+    public static void testCompterE3C() {
+        SplittableRandom aleatoire = new SplittableRandom(2024);
+        for (int t = 0; t < NB_TABLES; t++) {
+            Jeu jeu = new Jeu(3 + aleatoire.nextInt(4), 3 + aleatoire.nextInt(4), aleatoire.split());
+            remplirAuHasard(jeu, aleatoire, 20);
+            Table table = jeu.getTable();
+            List<int[]> attendus = listerE3CExhaustif(table);
+            if (table.compterE3C() != attendus.size()) {
+                throw new TestException(String.format("Table.compterE3C renvoie %d au lieu de %d sur la table :%n%s",
+                        table.compterE3C(), attendus.size(), table));
+            }
+            ParcoursE3C parcours = table.parcourirE3C();
+            for (int[] attendu : attendus) {
+                if (!parcours.avancer()) {
+                    throw new TestException("ParcoursE3C s'arrête avant " + Arrays.toString(attendu));
+                }
+                verifTriplet("ParcoursE3C", attendu,
+                        new int[] {parcours.getNumero1(), parcours.getNumero2(), parcours.getNumero3()}, table);
+            }
+            if (parcours.avancer()) {
+                throw new TestException("ParcoursE3C énumère un E3C de trop sur la table :\n" + table);
+            }
+            List<int[]> flux = table.fluxE3C().toList();
+            for (int i = 0; i < Math.max(flux.size(), attendus.size()); i++) {
+                verifTriplet("Table.fluxE3C", i < attendus.size() ? attendus.get(i) : null,
+                        i < flux.size() ? flux.get(i) : null, table);
+            }
+        }
+    }
+
+    public static void testChercherE3CParallele() {
+        SplittableRandom aleatoire = new SplittableRandom(2025);
+        // au-delà de RechercheE3CParallele.SEUIL_CASES cases, pour que la recherche soit vraiment parallèle ;
+        // les tables très creuses n'ont souvent aucun E3C
+        for (int t = 0; t < NB_TABLES / 10; t++) {
+            Jeu jeu = new Jeu(16 + aleatoire.nextInt(5), 16 + aleatoire.nextInt(5), aleatoire.split());
+            remplirAuHasard(jeu, aleatoire, 90 + aleatoire.nextInt(10));
+            Table table = jeu.getTable();
+            int[] attendu = jeu.chercherE3CSurTableExhaustive();
+            verifTriplet("Table.chercherE3CParallele(true)", attendu, table.chercherE3CParallele(true), table);
+            int[] quelconque = table.chercherE3CParallele(false);
+            if ((quelconque == null) != (attendu == null) || (quelconque != null && !estUnE3C(table, quelconque))) {
+                throw new TestException(String.format("Table.chercherE3CParallele(false) renvoie %s sur la table :%n%s",
+                        Arrays.toString(quelconque), table));
+            }
+        }
+    }
+
+    public static void testIndexE3C() {
+        SplittableRandom aleatoire = new SplittableRandom(2026);
+        for (int t = 0; t < NB_TABLES / 3; t++) {
+            // index activé sur une table remplie, puis mis à jour case par case
+            Jeu jeu = new Jeu(3 + aleatoire.nextInt(4), 3 + aleatoire.nextInt(4), aleatoire.split());
+            remplirAuHasard(jeu, aleatoire, 20);
+            Table table = jeu.getTable();
+            table.activerIndexE3C();
+            for (int modification = 0; modification < 10; modification++) {
+                int numero = aleatoire.nextInt(table.getTaille());
+                Carte carte = aleatoire.nextInt(5) == 0 ? null : Carte.getCarte(aleatoire.nextInt(Carte.NB_CARTES));
+                table.setTableauCase(numero / table.getLargeur(), numero % table.getLargeur(), carte);
+                List<int[]> attendus = listerE3CExhaustif(table);
+                verifTriplet("Table.chercherE3C (index)", jeu.chercherE3CSurTableExhaustive(), table.chercherE3C(), table);
+                if (table.getNbE3C() != attendus.size() || table.contientE3C() == attendus.isEmpty()) {
+                    throw new TestException(String.format("L'index compte %d E3C au lieu de %d sur la table :%n%s",
+                            table.getNbE3C(), attendus.size(), table));
+                }
+                for (int n = 1; n <= table.getTaille(); n++) {
+                    int nbAttendu = 0;
+                    for (int[] e3c : attendus) {
+                        if (e3c[0] == n || e3c[1] == n || e3c[2] == n) {
+                            nbAttendu++;
+                        }
+                    }
+                    if (table.getNbE3CCase(n) != nbAttendu) {
+                        throw new TestException(String.format("La carte %d participe à %d E3C et non %d sur la table :%n%s",
+                                n, nbAttendu, table.getNbE3CCase(n), table));
+                    }
+                }
+            }
+        }
+    }
+
+    public static void testChercherE3CParMasques() {
+        SplittableRandom aleatoire = new SplittableRandom(2027);
+        for (int t = 0; t < NB_TABLES / 3; t++) {
+            // jusqu'à 12x12 cases, pour avoir des masques de plusieurs mots
+            Jeu jeu = new Jeu(3 + aleatoire.nextInt(10), 3 + aleatoire.nextInt(10), aleatoire.split());
+            remplirAuHasard(jeu, aleatoire, 20 + aleatoire.nextInt(80));
+            Table table = jeu.getTable();
+            // masques construits pour une seule recherche
+            verifTriplet("Table.chercherE3CParMasques", jeu.chercherE3CSurTableExhaustive(),
+                    table.chercherE3CParMasques(), table);
+            // masques activés par le premier appel depuis le jeu, puis mis à jour case par case
+            verifTriplet("Jeu.chercherE3CSurTableParMasques", jeu.chercherE3CSurTableExhaustive(),
+                    jeu.chercherE3CSurTableParMasques(), table);
+            for (int modification = 0; modification < 10; modification++) {
+                int numero = aleatoire.nextInt(table.getTaille());
+                Carte carte = aleatoire.nextInt(5) == 0 ? null : Carte.getCarte(aleatoire.nextInt(Carte.NB_CARTES));
+                table.setTableauCase(numero / table.getLargeur(), numero % table.getLargeur(), carte);
+                verifTriplet("Table.chercherE3CParMasques (masques activés)", jeu.chercherE3CSurTableExhaustive(),
+                        table.chercherE3CParMasques(), table);
+            }
+        }
+    }
+
+    /**
+     * Action : Vérifie que les nbTriplets premiers bits de resultat indiquent les triplets (codes1[i], codes2[i],
+     * codes3[i]) qui forment un E3C selon Jeu.estUnE3C(int,int,int), et que les bits suivants du dernier mot sont à 0.
+     */
+
+    private static void verifValidation(String cas, int[] codes1, int[] codes2, int[] codes3, int nbTriplets,
+                                        long[] resultat) {
+        long nbValides = 0;
+        for (int i = 0; i < ValidationE3C.getTailleResultat(nbTriplets) * 64; i++) {
+            boolean attendu = i < nbTriplets && Jeu.estUnE3C(codes1[i], codes2[i], codes3[i]);
+            if (((resultat[i >>> 6] >>> i) & 1) != (attendu ? 1 : 0)) {
+                throw new TestException(String.format("%s : le bit du triplet %d vaut %b au lieu de %b", cas, i,
+                        !attendu, attendu));
+            }
+            nbValides += attendu ? 1 : 0;
+        }
+        if (ValidationE3C.compterValides(resultat, nbTriplets) != nbValides) {
+            throw new TestException(String.format("%s : compterValides renvoie %d au lieu de %d", cas,
+                    ValidationE3C.compterValides(resultat, nbTriplets), nbValides));
+        }
+    }
+
+    /**
+     * Action : Valide les triplets (codes1[i], codes2[i], codes3[i]) avec les quatre méthodes de ValidationE3C
+     * (codes séparés ou consécutifs, séquentielle ou parallèle) et vérifie chaque résultat.
+     * Le tableau des codes consécutifs reçoit nbCodesEnTrop (0 à 2) codes de plus, qui doivent être ignorés.
+     */
+
+    private static void verifValidations(String cas, int[] codes1, int[] codes2, int[] codes3, int nbCodesEnTrop) {
+        int nbTriplets = codes1.length;
+        int[] triplets = new int[3 * nbTriplets + nbCodesEnTrop];
+        for (int i = 0; i < nbTriplets; i++) {
+            triplets[3 * i] = codes1[i];
+            triplets[3 * i + 1] = codes2[i];
+            triplets[3 * i + 2] = codes3[i];
+        }
+        long[] resultat = new long[ValidationE3C.getTailleResultat(nbTriplets)];
+        // les mots du résultat doivent être entièrement écrits : on part de bits à 1
+        Arrays.fill(resultat, -1L);
+        ValidationE3C.valider(codes1, codes2, codes3, resultat);
+        verifValidation(cas + ", valider(codes1, codes2, codes3)", codes1, codes2, codes3, nbTriplets, resultat);
+        Arrays.fill(resultat, -1L);
+        ValidationE3C.validerParallele(codes1, codes2, codes3, resultat);
+        verifValidation(cas + ", validerParallele(codes1, codes2, codes3)", codes1, codes2, codes3, nbTriplets, resultat);
+        Arrays.fill(resultat, -1L);
+        ValidationE3C.valider(triplets, resultat);
+        verifValidation(cas + ", valider(triplets)", codes1, codes2, codes3, nbTriplets, resultat);
+        Arrays.fill(resultat, -1L);
+        ValidationE3C.validerParallele(triplets, resultat);
+        verifValidation(cas + ", validerParallele(triplets)", codes1, codes2, codes3, nbTriplets, resultat);
+    }
+
+    public static void testValidationE3C() {
+        // tous les triplets de codes standard (dont les doublons) : plusieurs tâches parallèles, la dernière incomplète
+        int nbTriplets = Carte.NB_CARTES * Carte.NB_CARTES * Carte.NB_CARTES;
+        int[] codes1 = new int[nbTriplets];
+        int[] codes2 = new int[nbTriplets];
+        int[] codes3 = new int[nbTriplets];
+        for (int i = 0; i < nbTriplets; i++) {
+            codes1[i] = i / (Carte.NB_CARTES * Carte.NB_CARTES);
+            codes2[i] = (i / Carte.NB_CARTES) % Carte.NB_CARTES;
+            codes3[i] = i % Carte.NB_CARTES;
+        }
+        verifValidations("Tous les triplets", codes1, codes2, codes3, 1);
+
+        // triplets tirés au hasard, dont un tiers d'E3C, de longueurs autour des mots de 64 bits
+        // et des blocs des tâches parallèles (64 x 1024 triplets)
+        SplittableRandom aleatoire = new SplittableRandom(2028);
+        int[] longueurs = {0, 1, 2, 63, 64, 65, 127, 1000, 65535, 65536, 65537, 3 * 65536 + 37};
+        for (int longueur : longueurs) {
+            codes1 = new int[longueur];
+            codes2 = new int[longueur];
+            codes3 = new int[longueur];
+            for (int i = 0; i < longueur; i++) {
+                codes1[i] = aleatoire.nextInt(Carte.NB_CARTES);
+                codes2[i] = aleatoire.nextInt(Carte.NB_CARTES);
+                codes3[i] = aleatoire.nextInt(3) == 0 ? Jeu.getTroisiemeCarte(codes1[i], codes2[i])
+                        : aleatoire.nextInt(Carte.NB_CARTES);
+            }
+            verifValidations(longueur + " triplets au hasard", codes1, codes2, codes3, longueur % 3);
+        }
+    }
+
+    /**
+     * Résultat : Les cartes restantes de paquet, de la position 0 jusqu'au dessus du paquet.
+     * Elles sont lues en piochant dans une copie : les cartes de paquet ne sont pas modifiées.
+     */
+
+    private static Carte[] cartesRestantes(Paquet paquet) {
+        Carte[] piochees = new Paquet(paquet).piocher(paquet.getNbCartes());
+        // la première carte piochée est celle du dessus
+        Carte[] cartes = new Carte[piochees.length];
+        for (int i = 0; i < piochees.length; i++) {
+            cartes[i] = piochees[piochees.length - 1 - i];
+        }
+        return cartes;
+    }
+
+    /**
+     * Résultat : Les cartes restantes de paquet, dans l'ordre de compareTo (trié par Arrays.sort).
+     */
+
+    private static Carte[] cartesTriees(Paquet paquet) {
+        Carte[] cartes = cartesRestantes(paquet);
+        Arrays.sort(cartes, Carte::compareTo);
+        return cartes;
+    }
+
+    /**
+     * Action : Vérifie que obtenu contient les mêmes cartes que attendu (au sens de compareTo), dans le même ordre.
+     */
+
+    private static void verifCartes(String cas, Carte[] attendu, Carte[] obtenu) {
+        if (attendu.length != obtenu.length) {
+            throw new TestException(String.format("%s : %d cartes au lieu de %d", cas, obtenu.length, attendu.length));
+        }
+        for (int i = 0; i < attendu.length; i++) {
+            if (attendu[i].compareTo(obtenu[i]) != 0) {
+                throw new TestException(String.format("%s : carte %s en position %d au lieu de %s", cas, obtenu[i], i,
+                        attendu[i]));
+            }
+        }
+    }
+
+    public static void testTrisLineaires() {
+        SplittableRandom aleatoire = new SplittableRandom(2029);
+        Couleur[][] couleurs = {Couleur.values(), {Couleur.JAUNE, Couleur.ROUGE}};
+        Figure[][] figures = {Figure.values(), {Figure.CARRE, Figure.OVALE}};
+        Texture[][] textures = {Texture.values(), {Texture.VIDE}};
+        // plus de 3 figures : le tri radix a alors plus de 3 valeurs pour le nombre de figures
+        int[] nbFiguresMax = {1, 3, 4, 7, 12};
+        for (int configuration = 0; configuration < couleurs.length; configuration++) {
+            for (int nbFigures : nbFiguresMax) {
+                for (int nbJeux = 1; nbJeux <= 3; nbJeux += 2) {
+                    Paquet paquet = new Paquet(couleurs[configuration], nbFigures, figures[configuration],
+                            textures[configuration], nbJeux, aleatoire.split(), false);
+                    // une partie des cartes est piochée : les tris ne doivent trier que les cartes restantes
+                    paquet.piocher(aleatoire.nextInt(paquet.getNbCartes()));
+                    String cas = String.format("%d figures, %d jeu(x), %d cartes restantes (configuration %d)",
+                            nbFigures, nbJeux, paquet.getNbCartes(), configuration);
+                    Carte[] attendu = cartesTriees(paquet);
+                    verifCartes("trierInsertion, " + cas, attendu, cartesRestantes(paquet.trierInsertion()));
+                    verifCartes("trierComptage, " + cas, attendu, cartesRestantes(paquet.trierComptage()));
+                    verifCartes("trierRadix, " + cas, attendu, cartesRestantes(paquet.trierRadix()));
+                }
+            }
+        }
+    }
+
+    public static void testTriParallele() {
+        SplittableRandom aleatoire = new SplittableRandom(2030);
+        // autour des seuils du tri insertion (32) et des tâches parallèles (8192) de TriFusionParallele
+        int[] tailles = {0, 1, 31, 32, 33, 100, 8191, 8192, 8193, 20000};
+        Comparator<Carte> parCouleur = Comparator.comparing(Carte::getCouleur);
+        for (int taille : tailles) {
+            int nbJeux = 1 + taille / Carte.NB_CARTES;
+            Paquet paquet = new Paquet(Couleur.values(), 3, Figure.values(), Texture.values(), nbJeux,
+                    aleatoire.split(), false);
+            paquet.piocher(paquet.getNbCartes() - taille);
+            String cas = taille + " cartes";
+            verifCartes("trierParallele, " + cas, cartesRestantes(paquet.trierInsertion()),
+                    cartesRestantes(paquet.trierParallele()));
+
+            // stabilité : triées par couleur seulement, les cartes d'une même couleur restent dans leur ordre
+            Carte[] cartes = cartesRestantes(paquet);
+            Carte[] attendu = cartes.clone();
+            int position = 0;
+            for (Couleur couleur : Couleur.values()) {
+                for (Carte carte : cartes) {
+                    if (carte.getCouleur() == couleur) {
+                        attendu[position++] = carte;
+                    }
+                }
+            }
+            verifCartes("trierParallele par couleur, " + cas, attendu, cartesRestantes(paquet.trierParallele(parCouleur)));
+
+            // tri d'une partie du tableau : les cartes hors de [debut, fin[ ne bougent pas
+            int debut = taille / 3;
+            int fin = taille - taille / 5;
+            Carte[] partie = cartes.clone();
+            TriFusionParallele.trier(partie, debut, fin, parCouleur, null);
+            // Arrays.sort est stable sur des objets
+            attendu = cartes.clone();
+            Arrays.sort(attendu, debut, fin, parCouleur);
+            verifCartes("TriFusionParallele.trier de " + debut + " à " + fin + ", " + cas, attendu, partie);
+        }
+    }
+
+    public static void testChoixMethodeTri() {
+        SplittableRandom aleatoire = new SplittableRandom(2031);
+        // le tri insertion jusqu'à 32 cartes, le tri comptage au-delà, que le paquet soit mélangé à la pioche ou non
+        int[] tailles = {0, 1, 31, 32, 33, 81, 162};
+        for (int taille : tailles) {
+            for (boolean melangeALaPioche : new boolean[] {false, true}) {
+                Paquet paquet = new Paquet(Couleur.values(), 3, Figure.values(), Texture.values(), 2, aleatoire.split(),
+                        melangeALaPioche);
+                paquet.piocher(paquet.getNbCartes() - taille);
+                MethodeTri attendue = taille <= 32 ? MethodeTri.INSERTION : MethodeTri.COMPTAGE;
+                if (paquet.choisirMethodeTri() != attendue) {
+                    throw new TestException(String.format("choisirMethodeTri renvoie %s au lieu de %s pour %d cartes",
+                            paquet.choisirMethodeTri(), attendue, taille));
+                }
+                verifCartes("trier() de " + taille + " cartes", cartesTriees(paquet), cartesRestantes(paquet.trier()));
+            }
+        }
+    }
+
+    private static void verifEntier(String cas, long attendu, long obtenu) {
+        if (attendu != obtenu) {
+            throw new TestException(String.format("%s : %d au lieu de %d", cas, obtenu, attendu));
+        }
+    }
+
+    public static void testPioche() {
+        // 12 cartes dans un ordre connu, la dernière (hors de l'espace standard, 4 figures) sur le dessus
+        Carte[] cartes = new Carte[12];
+        for (int i = 0; i < 11; i++) {
+            cartes[i] = Carte.getCarte(7 * i);
+        }
+        cartes[11] = Carte.getCarte(Couleur.BLEU, 4, Figure.CARRE, Texture.VIDE);
+
+        Paquet paquet = new Paquet(cartes);
+        verifEntier("piocherCode d'une carte hors de l'espace standard", -1, paquet.piocherCode());
+        verifEntier("piocherCode", cartes[10].getCode(), paquet.piocherCode());
+        if (paquet.piocherCarte() != cartes[9]) {
+            throw new TestException("piocherCarte ne renvoie pas la carte du dessus");
+        }
+        verifCartes("piocher(2)", new Carte[] {cartes[8], cartes[7]}, paquet.piocher(2));
+        Carte[] destination = new Carte[5];
+        verifEntier("piocher(destination, 1, 3)", 3, paquet.piocher(destination, 1, 3));
+        verifCartesOuVides("piocher(destination, 1, 3)", new Carte[] {null, cartes[6], cartes[5], cartes[4], null}, destination);
+        int[] codes = {-2, -2, -2, -2, -2, -2};
+        // plus de cartes demandées qu'il n'en reste : seules les 4 dernières sont piochées
+        verifEntier("piocherCodes(codes, 1, 5)", 4, paquet.piocherCodes(codes, 1, 5));
+        verifPioches("piocherCodes(codes, 1, 5)", new int[] {-2, cartes[3].getCode(), cartes[2].getCode(),
+                cartes[1].getCode(), cartes[0].getCode(), -2}, codes);
+        verifEntier("Cartes restantes", 0, paquet.getNbCartes());
+        verifEntier("piocher(destination, 0, 1) d'un paquet vide", 0, paquet.piocher(destination, 0, 1));
+
+        // piocher(nbCartes) échoue s'il reste moins de nbCartes cartes, sans rien piocher
+        paquet = new Paquet(cartes);
+        paquet.piocher(10);
+        try {
+            paquet.piocher(3);
+            throw new TestException("piocher(3) ne lève pas d'exception alors qu'il reste 2 cartes");
+        } catch (IllegalArgumentException e) {
+            verifEntier("Cartes restantes après piocher(3) refusé", 2, paquet.getNbCartes());
+        }
+        verifCartes("piocher(2) après piocher(3) refusé", new Carte[] {cartes[1], cartes[0]}, paquet.piocher(2));
+
+        // Table.placerCartes : une carte du dessus par numéro, les cases restantes sont vidées quand le paquet est vide
+        Table table = new Table(3, 3);
+        paquet = new Paquet(Arrays.copyOf(cartes, 5));
+        verifEntier("placerCartes({1, 5, 9})", 3, table.placerCartes(paquet, new int[] {1, 5, 9}));
+        verifEntier("placerCartes({2, 3, 4})", 2, table.placerCartes(paquet, new int[] {2, 3, 4}));
+        verifEntier("placerCartes({1, 5}) d'un paquet vide", 0, table.placerCartes(paquet, new int[] {1, 5}));
+        Carte[] attendu = {null, cartes[1], cartes[0], null, null, null, null, null, cartes[2]};
+        Carte[] obtenu = new Carte[9];
+        for (int numero = 0; numero < 9; numero++) {
+            obtenu[numero] = table.getTableau()[numero / 3][numero % 3];
+        }
+        verifCartesOuVides("Table après placerCartes", attendu, obtenu);
+        verifEntier("Table.compterE3C après placerCartes", listerE3CExhaustif(table).size(), table.compterE3C());
+    }
+
+    /**
+     * Action : Comme verifCartes, mais les tableaux peuvent contenir des cases vides (null).
+     */
+
+    private static void verifCartesOuVides(String cas, Carte[] attendu, Carte[] obtenu) {
+        for (int i = 0; i < attendu.length; i++) {
+            if (attendu[i] != obtenu[i]) {
+                throw new TestException(String.format("%s : %s en position %d au lieu de %s", cas, obtenu[i], i,
+                        attendu[i]));
+            }
+        }
+    }
+
+    /**
+     * Action : Vérifie que les deux tables ont les mêmes dimensions et les mêmes cartes dans chaque case.
+     */
+
+    private static void verifMemeTable(String cas, Table attendue, Table obtenue) {
+        if (attendue.getHauteur() != obtenue.getHauteur() || attendue.getLargeur() != obtenue.getLargeur()) {
+            throw new TestException(cas + " : les tables n'ont pas les mêmes dimensions");
+        }
+        for (int x = 0; x < attendue.getHauteur(); x++) {
+            verifCartesOuVides(cas + ", ligne " + x, attendue.getTableau()[x], obtenue.getTableau()[x]);
+        }
+    }
+
+    /**
+     * Action : Fait jouer l'ordinateur en même temps sur les deux jeux jusqu'à la fin de la partie
+     * et vérifie qu'ils restent identiques à chaque tour (table, sélection, résultat du tour).
+     * Résultat : Le nombre de tours où l'ordinateur a sélectionné des cartes au hasard.
+     */
+
+    private static int verifMemePartie(String cas, Jeu jeu1, Jeu jeu2) {
+        int nbTirages = 0;
+        int tour = 0;
+        while (!jeu1.partieEstTerminee()) {
+            verifMemeTable(cas + ", tour " + tour, jeu1.getTable(), jeu2.getTable());
+            int[] selection = jeu1.choisirSelectionOrdinateur();
+            verifTriplet(cas + ", sélection du tour " + tour, selection, jeu2.choisirSelectionOrdinateur(),
+                    jeu1.getTable());
+            ResultatTour resultat1 = jeu1.appliquerSelection(selection);
+            ResultatTour resultat2 = jeu2.appliquerSelection(selection);
+            if (!resultat1.toString().equals(resultat2.toString())
+                    || !Arrays.equals(resultat1.getNumerosRemplaces(), resultat2.getNumerosRemplaces())) {
+                throw new TestException(String.format("%s, tour %d : %s au lieu de %s", cas, tour, resultat2, resultat1));
+            }
+            nbTirages += resultat1.estUnE3C() ? 0 : 1;
+            tour++;
+        }
+        if (!jeu2.partieEstTerminee() || jeu1.getScore() != jeu2.getScore()) {
+            throw new TestException(cas + " : les deux parties ne se terminent pas de la même façon");
+        }
+        verifMemeTable(cas + ", fin de partie", jeu1.getTable(), jeu2.getTable());
+        return nbTirages;
+    }
+
+    public static void testJeuxDeMemeGraine() {
+        int nbTirages = 0;
+        for (long graine = 0; graine < 200; graine++) {
+            int hauteur = 3 + (int) (graine % 3);
+            int largeur = 3 + (int) (graine / 3 % 3);
+            String cas = "Graine " + graine + ", table " + hauteur + "x" + largeur;
+            Jeu jeu1 = new Jeu(hauteur, largeur, graine);
+            Jeu jeu2 = new Jeu(hauteur, largeur, graine);
+            nbTirages += verifMemePartie(cas, jeu1, jeu2);
+            // la partie suivante continue avec le générateur de chaque jeu : elle doit aussi être identique
+            jeu1.resetJeu(hauteur, largeur);
+            jeu2.resetJeu(hauteur, largeur);
+            nbTirages += verifMemePartie(cas + ", deuxième partie", jeu1, jeu2);
+            // le constructeur à graine est le même que celui à générateur
+            verifMemeTable(cas + ", Jeu(hauteur, largeur, new SplittableRandom(graine))",
+                    new Jeu(hauteur, largeur, graine).getTable(),
+                    new Jeu(hauteur, largeur, new SplittableRandom(graine)).getTable());
+        }
+        if (nbTirages == 0) {
+            throw new TestException("Aucune sélection au hasard : les tirages de l'ordinateur ne sont pas vérifiés");
+        }
+        // deux graines différentes ne distribuent pas les mêmes cartes
+        Table table1 = new Jeu(3, 3, 1).getTable();
+        Table table2 = new Jeu(3, 3, 2).getTable();
+        boolean identiques = true;
+        for (int x = 0; x < 3; x++) {
+            identiques = identiques && Arrays.equals(table1.getTableau()[x], table2.getTableau()[x]);
+        }
+        if (identiques) {
+            throw new TestException("Les graines 1 et 2 distribuent les mêmes cartes");
+        }
+    }
+
+    /**
+     * Action : Vérifie que chaque méthode de tri de paquet donne les mêmes cartes que trierComptage
+     * et que trierComptage donne les cartes attendues (triées).
+     */
+
+    private static void verifTris(String cas, Paquet paquet, Carte[] attendu) {
+        Carte[] comptage = cartesRestantes(paquet.trierComptage());
+        verifCartes("trierComptage, " + cas, attendu, comptage);
+        for (MethodeTri methode : MethodeTri.values()) {
+            verifCartes(methode + ", " + cas, comptage, cartesRestantes(paquet.trier(methode)));
+        }
+    }
+
+    /**
+     * Action : Vérifie que melanger puis piocher ne changent pas les cartes du paquet : après le mélange,
+     * les cartes restantes plus les cartes piochées doivent être les cartes attendues (triées).
+     */
+
+    private static void verifMelangeEtPioche(String cas, Paquet paquet, Carte[] attendu, SplittableRandom aleatoire) {
+        paquet.melanger();
+        verifCartes("melanger, " + cas, attendu, cartesTriees(paquet));
+        Carte[] piochees = paquet.piocher(aleatoire.nextInt(paquet.getNbCartes() + 1));
+        Carte[] restantes = cartesRestantes(paquet);
+        Carte[] cartes = Arrays.copyOf(restantes, restantes.length + piochees.length);
+        System.arraycopy(piochees, 0, cartes, restantes.length, piochees.length);
+        Arrays.sort(cartes, Carte::compareTo);
+        verifCartes("piocher après melanger, " + cas, attendu, cartes);
+    }
+
+    public static void testGrandsPaquets() {
+        SplittableRandom aleatoire = new SplittableRandom(2032);
+        // 40 figures : 1080 cartes différentes, dont les indices tiennent sur deux octets
+        for (int nbJeux = 1; nbJeux <= 3; nbJeux++) {
+            Carte[] attendu = new Carte[1080 * nbJeux];
+            int x = 0;
+            for (int i = 0; i < nbJeux; i++) {
+                for (Couleur couleur : Couleur.values()) {
+                    for (int nbFigures = 1; nbFigures <= 40; nbFigures++) {
+                        for (Figure figure : Figure.values()) {
+                            for (Texture texture : Texture.values()) {
+                                attendu[x++] = Carte.getCarte(couleur, nbFigures, figure, texture);
+                            }
+                        }
+                    }
+                }
+            }
+            Arrays.sort(attendu, Carte::compareTo);
+            for (boolean melangeALaPioche : new boolean[] {false, true}) {
+                String cas = String.format("40 figures, %d jeu(x)%s", nbJeux, melangeALaPioche ? ", mélange à la pioche" : "");
+                Paquet paquet = new Paquet(Couleur.values(), 40, Figure.values(), Texture.values(), nbJeux,
+                        aleatoire.split(), melangeALaPioche);
+                verifEntier("Nombre de cartes, " + cas, attendu.length, paquet.getNbCartes());
+                verifTris(cas, paquet, attendu);
+                verifMelangeEtPioche(cas, paquet, attendu, aleatoire);
+            }
+        }
+
+        // de part et d'autre de la limite des indices sur un octet : 256 et 257 cartes différentes, en deux exemplaires
+        Carte[] differentes = new Carte[257];
+        for (int i = 0; i < differentes.length; i++) {
+            differentes[i] = Carte.getCarte(Couleur.values()[i % 3], 1 + i / 27, Figure.values()[i / 3 % 3],
+                    Texture.values()[i / 9 % 3]);
+        }
+        for (int nbDifferentes = 255; nbDifferentes <= 257; nbDifferentes++) {
+            String cas = nbDifferentes + " cartes différentes";
+            Carte[] cartes = new Carte[2 * nbDifferentes];
+            for (int i = 0; i < cartes.length; i++) {
+                // de la dernière carte à la première, puis de la première à la dernière
+                cartes[i] = differentes[i < nbDifferentes ? nbDifferentes - 1 - i : i - nbDifferentes];
+            }
+            Paquet paquet = new Paquet(cartes);
+            // le paquet garde l'ordre donné : chaque carte retrouve son indice, même le 256e
+            verifCartes("Paquet(Carte[]), " + cas, cartes, cartesRestantes(paquet));
+            Carte[] attendu = cartes.clone();
+            Arrays.sort(attendu, Carte::compareTo);
+            verifTris(cas, paquet, attendu);
+            verifMelangeEtPioche(cas, paquet, attendu, aleatoire);
+        }
+    }
+
+    /**
+     * Résultat : Les cartes (de la position 0 au dessus du paquet) d'un sabot de nbJeux jeux de cette configuration
+     * mélangé avec un SplittableRandom de graine "graine", calculées sans Paquet : nbJeux fois toutes les
+     * combinaisons dans l'ordre des paramètres, puis les étapes du mélange de Fisher-Yates de Paquet.melanger.
+     */
+
+    private static Carte[] sabotAttendu(Couleur[] couleurs, int nbFiguresMax, Figure[] figures, Texture[] textures,
+                                        int nbJeux, long graine) {
+        Carte[] cartes = new Carte[nbJeux * couleurs.length * nbFiguresMax * figures.length * textures.length];
+        int x = 0;
+        for (int jeu = 0; jeu < nbJeux; jeu++) {
+            for (Couleur couleur : couleurs) {
+                for (int nbFigures = 1; nbFigures <= nbFiguresMax; nbFigures++) {
+                    for (Figure figure : figures) {
+                        for (Texture texture : textures) {
+                            cartes[x++] = Carte.getCarte(couleur, nbFigures, figure, texture);
+                        }
+                    }
+                }
+            }
+        }
+        SplittableRandom aleatoire = new SplittableRandom(graine);
+        for (int i = cartes.length - 1; i > 0; i--) {
+            int ran = aleatoire.nextInt(i + 1);
+            Carte temp = cartes[i];
+            cartes[i] = cartes[ran];
+            cartes[ran] = temp;
+        }
+        return cartes;
+    }
+
+    public static void testModelesDeJeux() {
+        // 20 configurations (plus que les 16 gardées en cache), dont une dont la clé ne tient pas sur un long
+        // (30 fois la même couleur) et n'est donc jamais en cache
+        int nbConfigurations = 20;
+        Couleur[][] couleurs = new Couleur[nbConfigurations][];
+        Figure[][] figures = new Figure[nbConfigurations][];
+        Texture[][] textures = new Texture[nbConfigurations][];
+        int[] nbFiguresMax = new int[nbConfigurations];
+        for (int c = 0; c < nbConfigurations; c++) {
+            couleurs[c] = c % 2 == 0 ? Couleur.values() : new Couleur[] {Couleur.BLEU, Couleur.ROUGE};
+            figures[c] = c % 3 == 0 ? Figure.values() : new Figure[] {Figure.CARRE};
+            textures[c] = c % 5 == 0 ? new Texture[] {Texture.VIDE, Texture.PLEIN} : Texture.values();
+            nbFiguresMax[c] = 1 + c / 2;
+        }
+        couleurs[nbConfigurations - 1] = new Couleur[30];
+        Arrays.fill(couleurs[nbConfigurations - 1], Couleur.JAUNE);
+
+        // chaque configuration est demandée plusieurs fois : en défaut de cache, juste après elle-même,
+        // puis après les autres (qui ont pu la retirer du cache)
+        long graine = 0;
+        for (int tour = 0; tour < 3; tour++) {
+            for (int c = 0; c < nbConfigurations; c++) {
+                for (int fois = 0; fois < 2; fois++) {
+                    int nbJeux = 1 + (int) (graine % 3);
+                    Paquet paquet = new Paquet(couleurs[c], nbFiguresMax[c], figures[c], textures[c], nbJeux,
+                            new SplittableRandom(graine), false);
+                    verifCartes(String.format("Configuration %d, %d jeu(x), tour %d, demande %d", c, nbJeux, tour, fois),
+                            sabotAttendu(couleurs[c], nbFiguresMax[c], figures[c], textures[c], nbJeux, graine),
+                            cartesRestantes(paquet));
+                    graine++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Résultat : Le nombre de producteurs de ReserveDePaquets (fils d'exécution de ce nom) encore en vie.
+     */
+
+    private static int compterProducteurs() {
+        int nbProducteurs = 0;
+        for (Thread fil : Thread.getAllStackTraces().keySet()) {
+            if (fil.getName().equals("ReserveDePaquets") && fil.isAlive()) {
+                nbProducteurs++;
+            }
+        }
+        return nbProducteurs;
+    }
+
+    /**
+     * Action : Vérifie qu'une réserve arrêtée n'a plus de producteur ni de paquet prêt, et refuse d'en donner un.
+     */
+
+    private static void verifReserveArretee(String cas, ReserveDePaquets reserve, int nbProducteursAvant) {
+        verifEntier(cas + ", producteurs en vie", nbProducteursAvant, compterProducteurs());
+        verifEntier(cas + ", paquets prêts", 0, reserve.getNbPaquetsPrets());
+        if (!reserve.estArretee()) {
+            throw new TestException(cas + " : estArretee renvoie faux");
+        }
+        try {
+            reserve.prendre();
+            throw new TestException(cas + " : prendre ne lève pas d'exception");
+        } catch (IllegalStateException e) {
+            // attendu
+        }
+    }
+
+    public static void testArretReserveDePaquets() {
+        int nbProducteursAvant = compterProducteurs();
+
+        // producteur bloqué sur une file pleine
+        ReserveDePaquets reserve = new ReserveDePaquets(2, Couleur.values(), 3, Figure.values(), Texture.values(),
+                new SplittableRandom(2033));
+        verifEntier("Réserve démarrée, producteurs en vie", nbProducteursAvant + 1, compterProducteurs());
+        while (reserve.getNbPaquetsPrets() < 2) {
+            Ut.pause(1);
+        }
+        reserve.arreter();
+        verifReserveArretee("Réserve pleine arrêtée", reserve, nbProducteursAvant);
+        reserve.arreter();
+        verifReserveArretee("Réserve arrêtée deux fois", reserve, nbProducteursAvant);
+
+        // producteur en cours de production (file jamais pleine), arrêté par close
+        try (ReserveDePaquets autre = new ReserveDePaquets(1000, Couleur.values(), 3, Figure.values(),
+                Texture.values(), new SplittableRandom(2034))) {
+            reserve = autre;
+            reserve.prendre();
+        }
+        verifReserveArretee("Réserve en production fermée", reserve, nbProducteursAvant);
+
+        // réserve d'un jeu
+        Jeu jeu = new Jeu(3, 3, 2035L);
+        jeu.demarrerReserveDePaquets(4);
+        jeu.resetJeu(3, 3);
+        verifEntier("Jeu avec réserve, producteurs en vie", nbProducteursAvant + 1, compterProducteurs());
+        jeu.arreterReserveDePaquets();
+        verifEntier("Jeu après arreterReserveDePaquets, producteurs en vie", nbProducteursAvant, compterProducteurs());
+    }
+
+    // nombre d'écarts-types des intervalles de confiance vérifiés : avec un intervalle à 95 %, une graine sur
+    // vingt environ donnerait un échec sans erreur de la simulation
+    private static final double Z_TESTS = 4;
+
+    /**
+     * Résultat : Le coefficient binomial C(n, k), exact tant qu'il tient sur un double.
+     */
+
+    private static double combinaisons(int n, int k) {
+        double resultat = 1;
+        for (int i = 0; i < k; i++) {
+            resultat = resultat * (n - i) / (i + 1);
+        }
+        return resultat;
+    }
+
+    /**
+     * Action : Vérifie que la probabilité exacte est dans l'intervalle de confiance (à Z_TESTS écarts-types)
+     * de l'estimation.
+     */
+
+    private static void verifEstimation(String cas, double exacte, EstimationProbabilite estimation) {
+        double[] intervalle = estimation.getIntervalleConfiance(Z_TESTS);
+        if (!(intervalle[0] <= exacte && exacte <= intervalle[1])) {
+            throw new TestException(String.format(Locale.ROOT, "%s : la probabilité exacte %.9f est hors de [%.9f ; %.9f] (%s)",
+                    cas, exacte, intervalle[0], intervalle[1], estimation));
+        }
+    }
+
+    public static void testSimulationMonteCarlo() {
+        // bornes exactes sans succès ou sans échec
+        for (long n : new long[] {1, 10, 1000, 123_457, 1_000_000}) {
+            for (double z : new double[] {EstimationProbabilite.Z_95, Z_TESTS}) {
+                if (new EstimationProbabilite(n, 0).getIntervalleConfiance(z)[0] != 0
+                        || new EstimationProbabilite(n, n).getIntervalleConfiance(z)[1] != 1) {
+                    throw new TestException(String.format(Locale.ROOT,
+                            "Intervalle de confiance (z = %.2f) sans succès ou sans échec sur %d essais non borné par 0 ou 1", z, n));
+                }
+            }
+        }
+
+        // trois cartes rouges parmi k : loi hypergéométrique
+        long nbEssais = 1_000_000;
+        for (int largeur = 1; largeur <= 4; largeur++) {
+            int k = 3 * largeur;
+            double exacte = combinaisons(27, 3) * combinaisons(54, k - 3) / combinaisons(81, k);
+            SimulationMonteCarlo simulation = new SimulationMonteCarlo(3, largeur, 2036 + largeur);
+            EstimationProbabilite estimation = simulation.estimer(SimulationMonteCarlo.TROIS_ROUGES, nbEssais);
+            verifEstimation("Trois rouges sur une table 3x" + largeur, exacte, estimation);
+            verifEntier("Succès d'une deuxième simulation de même graine, table 3x" + largeur,
+                    estimation.getNbSucces(), simulation.estimer(SimulationMonteCarlo.TROIS_ROUGES, nbEssais).getNbSucces());
+        }
+
+        // moins de trois cartes : jamais d'E3C
+        verifEstimation("E3C sur une table 1x2", 0,
+                new SimulationMonteCarlo(1, 2, 2041).estimer(SimulationMonteCarlo.CONTIENT_E3C, nbEssais));
+    }
+
+    /**
+     * Action : Ajoute à distribution[j], pour chaque table de k cartes formée des nbChoisies cartes choisies
+     * (marquées dans presentes, et formant nbE3C E3C) et de cartes de codes au moins debut, 1 si la table
+     * contient exactement j E3C. Toutes les tables sont énumérées, sans les symétries de CalculExactE3C.
+     */
+
+    private static void enumererTables(int k, int debut, int[] choisies, int nbChoisies, boolean[] presentes,
+                                       int nbE3C, long[] distribution) {
+        if (nbChoisies == k) {
+            distribution[nbE3C]++;
+            return;
+        }
+        for (int code = debut; code <= Carte.NB_CARTES - (k - nbChoisies); code++) {
+            int nbNouveaux = 0;
+            for (int i = 0; i < nbChoisies; i++) {
+                // chaque E3C est compté une fois, quand sa dernière carte est ajoutée
+                if (presentes[Jeu.getTroisiemeCarte(choisies[i], code)]) {
+                    nbNouveaux++;
+                }
+            }
+            choisies[nbChoisies] = code;
+            presentes[code] = true;
+            enumererTables(k, code + 1, choisies, nbChoisies + 1, presentes, nbE3C + nbNouveaux / 2, distribution);
+            presentes[code] = false;
+        }
+    }
+
+    public static void testCalculExactE3C() {
+        // petites tables : toutes les tables sont énumérées
+        for (int k = 0; k <= 5; k++) {
+            long[] attendue = new long[k * (k - 1) / 6 + 1];
+            enumererTables(k, 0, new int[k], 0, new boolean[Carte.NB_CARTES], 0, attendue);
+            long[] distribution = CalculExactE3C.distributionNbE3C(k);
+            if (!Arrays.equals(attendue, distribution)) {
+                throw new TestException(String.format("distributionNbE3C(%d) renvoie %s au lieu de %s", k,
+                        Arrays.toString(distribution), Arrays.toString(attendue)));
+            }
+            verifEntier("compterTablesSansE3C(" + k + ")", attendue[0], CalculExactE3C.compterTablesSansE3C(k));
+        }
+
+        // tables plus grandes : la distribution doit être cohérente avec le nombre de tables sans E3C
+        for (int k = 6; k <= 8; k++) {
+            long[] distribution = CalculExactE3C.distributionNbE3C(k);
+            verifEntier("Somme de distributionNbE3C(" + k + ")", (long) combinaisons(Carte.NB_CARTES, k),
+                    Arrays.stream(distribution).sum());
+            verifEntier("distributionNbE3C(" + k + ")[0]", CalculExactE3C.compterTablesSansE3C(k), distribution[0]);
+        }
+
+        // probabilités exactes et estimations de SimulationMonteCarlo
+        int[][] dimensions = {{1, 3}, {2, 2}, {2, 3}, {2, 4}, {3, 3}};
+        for (int[] dimension : dimensions) {
+            int hauteur = dimension[0];
+            int largeur = dimension[1];
+            double exacte = CalculExactE3C.probabiliteE3C(hauteur * largeur);
+            EstimationProbabilite estimation = new SimulationMonteCarlo(hauteur, largeur, 2042 + hauteur * largeur)
+                    .estimer(SimulationMonteCarlo.CONTIENT_E3C, 1_000_000);
+            verifEstimation("E3C sur une table " + hauteur + "x" + largeur, exacte, estimation);
+        }
+    }
+
+    public static void testPartiesOrdinateur() {
+        int nbParties = 2000;
+        for (int largeur = 1; largeur <= 4; largeur++) {
+            String cas = String.format("%d parties sur une table 3x%d", nbParties, largeur);
+            PartiesOrdinateur parties = new PartiesOrdinateur();
+            parties.jouer(nbParties, 3, largeur, 2048 + largeur);
+            PartiesOrdinateur memesParties = new PartiesOrdinateur();
+            memesParties.jouer(nbParties, 3, largeur, 2048 + largeur);
+            if (parties.getToursParPartie() != memesParties.getToursParPartie()
+                    || parties.getScoreMoyen() != memesParties.getScoreMoyen()
+                    || parties.getTauxEchec() != memesParties.getTauxEchec()) {
+                throw new TestException(cas + " : deux séries de même graine donnent " + parties + " et " + memesParties);
+            }
+
+            // chaque tour rapporte POINTS_E3C points, ou en coûte PENALITE_ERREUR en cas d'échec
+            double nbTours = parties.getToursParPartie() * nbParties;
+            double nbEchecs = parties.getTauxEchec() * nbTours;
+            long scoreTotal = Math.round(Jeu.POINTS_E3C * (nbTours - nbEchecs) - Jeu.PENALITE_ERREUR * nbEchecs);
+            verifEntier(cas + ", score total", scoreTotal, Math.round(parties.getScoreMoyen() * nbParties));
+        }
+    }
+
+    public static void testInterruptionJeuOrdinateur() {
+        Jeu jeu = new Jeu(3, 3, 2053L);
+        Thread fil = new Thread(jeu::jouerOrdinateur);
+        // une partie qui ne s'arrête pas ne doit pas empêcher les tests de se terminer
+        fil.setDaemon(true);
+        // la partie affiche la table à chaque tour : l'affichage est ignoré pendant le test
+        PrintStream sortie = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            fil.start();
+            fil.interrupt();
+            fil.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestException("Test interrompu");
+        } finally {
+            System.setOut(sortie);
+        }
+        if (fil.isAlive()) {
+            throw new TestException("jouerOrdinateur ne s'arrête pas après une interruption");
+        }
+        if (jeu.partieEstTerminee()) {
+            throw new TestException("jouerOrdinateur a joué toute la partie malgré l'interruption");
+        }
+    }
+
+    /**
+     * Résultat : Les cartes de la table par numéro de case (la carte numéro n en position n - 1, null si vide).
+     */
+
+    private static Carte[] cartesParNumero(Table table) {
+        int largeur = table.getLargeur();
+        Carte[] cartes = new Carte[table.getTaille()];
+        for (int i = 0; i < cartes.length; i++) {
+            cartes[i] = table.getTableau()[i / largeur][i % largeur];
+        }
+        return cartes;
+    }
+
+    /**
+     * Résultat : Des sélections que appliquerSelection doit refuser sur cette table : mauvaise longueur,
+     * numéro hors de la table, numéro répété, et case vide s'il y en a une.
+     */
+
+    private static List<int[]> selectionsInvalides(Carte[] cartes) {
+        int taille = cartes.length;
+        List<int[]> selections = new ArrayList<>(Arrays.asList(null, new int[0], new int[] {1, 2},
+                new int[] {1, 2, 3, 4}, new int[] {0, 1, 2}, new int[] {-1, 2, 3}, new int[] {1, 2, taille + 1},
+                new int[] {1, 1, 2}, new int[] {2, 3, 2}));
+        for (int vide = 1; vide <= taille; vide++) {
+            if (cartes[vide - 1] == null) {
+                int autre1 = vide == 1 ? 2 : 1;
+                int autre2 = vide == taille ? taille - 1 : taille;
+                selections.add(new int[] {autre1, autre2, vide});
+                break;
+            }
+        }
+        return selections;
+    }
+
+    /**
+     * Résultat : Trois numéros de cartes de la table qui ne forment pas un E3C, ou null s'il n'y en a pas.
+     */
+
+    private static int[] chercherNonE3C(Table table) {
+        Carte[] cartes = cartesParNumero(table);
+        for (int i = 1; i <= cartes.length; i++) {
+            for (int j = i + 1; j <= cartes.length; j++) {
+                for (int k = j + 1; k <= cartes.length; k++) {
+                    int[] numeros = {i, j, k};
+                    if (cartes[i - 1] != null && cartes[j - 1] != null && cartes[k - 1] != null
+                            && !estUnE3C(table, numeros)) {
+                        return numeros;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void verifNumeros(String cas, int[] attendu, int[] obtenu) {
+        if (!Arrays.equals(attendu, obtenu)) {
+            throw new TestException(String.format("%s : %s au lieu de %s", cas, Arrays.toString(obtenu),
+                    Arrays.toString(attendu)));
+        }
+    }
+
+    public static void testAppliquerSelection() {
+        // 81 - 9 et 81 - 4 cartes dans le paquet : la dernière pioche d'une table 2x2 ne remplace que 2 cartes
+        int[][] dimensions = {{3, 3}, {2, 2}};
+        for (int[] dimension : dimensions) {
+            Jeu jeu = new Jeu(dimension[0], dimension[1], 2054L + dimension[0]);
+            Table table = jeu.getTable();
+            int nbCartesPaquet = Carte.NB_CARTES - table.getTaille();
+            int tour = 0;
+            while (!jeu.partieEstTerminee()) {
+                String cas = String.format("Table %dx%d, tour %d", dimension[0], dimension[1], tour);
+                Carte[] avant = cartesParNumero(table);
+                int scoreAvant = jeu.getScore();
+
+                for (int[] invalide : selectionsInvalides(avant)) {
+                    try {
+                        jeu.appliquerSelection(invalide);
+                        throw new TestException(cas + " : appliquerSelection(" + Arrays.toString(invalide)
+                                + ") ne lève pas d'exception");
+                    } catch (IllegalArgumentException e) {
+                        verifEntier(cas + ", score après " + Arrays.toString(invalide), scoreAvant, jeu.getScore());
+                        verifCartesOuVides(cas + ", table après " + Arrays.toString(invalide), avant,
+                                cartesParNumero(table));
+                    }
+                }
+
+                // un tour sur deux, trois cartes qui ne forment pas un E3C (s'il y en a)
+                int[] selection = tour % 2 == 1 ? chercherNonE3C(table) : null;
+                if (selection == null) {
+                    selection = jeu.choisirSelectionOrdinateur();
+                }
+                boolean e3c = estUnE3C(table, selection);
+                ResultatTour resultat = jeu.appliquerSelection(selection);
+
+                if (resultat.estUnE3C() != e3c) {
+                    throw new TestException(cas + " : estUnE3C vaut " + resultat.estUnE3C() + " pour "
+                            + Arrays.toString(selection));
+                }
+                verifEntier(cas + ", variation du score", e3c ? Jeu.POINTS_E3C : -Jeu.PENALITE_ERREUR,
+                        resultat.getVariationScore());
+                verifEntier(cas + ", score du résultat", scoreAvant + resultat.getVariationScore(), resultat.getScore());
+                verifEntier(cas + ", score du jeu", resultat.getScore(), jeu.getScore());
+                verifNumeros(cas + ", sélection du résultat", selection, resultat.getSelection());
+                int nbPiochees = Math.min(3, nbCartesPaquet);
+                nbCartesPaquet -= nbPiochees;
+                verifEntier(cas + ", cartes piochées", nbPiochees, resultat.getNbCartesPiochees());
+                verifNumeros(cas + ", numéros remplacés", Arrays.copyOf(selection, nbPiochees),
+                        resultat.getNumerosRemplaces());
+
+                // les cases remplacées ont une carte, les autres cases sélectionnées sont vides, le reste est inchangé
+                Carte[] apres = cartesParNumero(table);
+                for (int i = 0; i < 3; i++) {
+                    int numero = selection[i];
+                    if ((apres[numero - 1] != null) != (i < nbPiochees)) {
+                        throw new TestException(cas + " : case " + numero + " de la sélection " + Arrays.toString(selection)
+                                + (i < nbPiochees ? " non remplacée" : " non vidée"));
+                    }
+                    apres[numero - 1] = avant[numero - 1];
+                }
+                verifCartesOuVides(cas + ", cases non sélectionnées", avant, apres);
+                tour++;
+            }
+            verifEntier(String.format("Table %dx%d, cartes restantes en fin de partie", dimension[0], dimension[1]),
+                    0, nbCartesPaquet);
+        }
+    }
+
+    /**
+     * Résultat : Vrai si les cartes numéros numeros[0], numeros[1] et numeros[2] (différents) forment un E3C.
+     */
+
+    private static boolean estUnE3C(Table table, int[] numeros) {
+        int largeur = table.getLargeur();
+        Carte[] cartes = new Carte[3];
+        for (int i = 0; i < 3; i++) {
+            cartes[i] = table.getTableau()[(numeros[i] - 1) / largeur][(numeros[i] - 1) % largeur];
+            if (cartes[i] == null) {
+                return false;
+            }
+        }
+        return numeros[0] != numeros[1] && numeros[0] != numeros[2] && numeros[1] != numeros[2] && Jeu.estUnE3C(cartes);
+    }
+
+    /**
+     * Résultat : Les codes des nbCartes premières cartes piochées dans paquet.
+     */
+
+    private static int[] piocherCodes(Paquet paquet, int nbCartes) {
+        int[] codes = new int[nbCartes];
+        paquet.piocherCodes(codes, 0, nbCartes);
+        return codes;
+    }
+
+    private static void verifPioches(String cas, int[] attendu, int[] obtenu) {
+        if (!Arrays.equals(attendu, obtenu)) {
+            throw new TestException(String.format("%s : cartes piochées %s au lieu de %s", cas,
+                    Arrays.toString(obtenu), Arrays.toString(attendu)));
+        }
+    }
+
+    public static void testMelangeALaPioche() {
+        Couleur[] couleurs = Couleur.values();
+        Figure[] figures = Figure.values();
+        Texture[] textures = Texture.values();
+        for (long graine = 0; graine < 300; graine++) {
+            int nbJeux = 1 + (int) (graine % 3);
+            Paquet immediat = new Paquet(couleurs, 3, figures, textures, nbJeux, new SplittableRandom(graine), false);
+            int nbCartes = immediat.getNbCartes();
+            int[] attendu = piocherCodes(immediat, nbCartes);
+
+            Paquet aLaPioche = new Paquet(couleurs, 3, figures, textures, nbJeux, new SplittableRandom(graine), true);
+            verifPioches("Mélange à la pioche (graine " + graine + ")", attendu, piocherCodes(aLaPioche, nbCartes));
+
+            // mélange terminé en cours de partie (toString), puis pioche du reste
+            Paquet interrompu = new Paquet(couleurs, 3, figures, textures, nbJeux, new SplittableRandom(graine), true);
+            int nbAvant = (int) (graine % nbCartes);
+            int[] obtenu = new int[nbCartes];
+            interrompu.piocherCodes(obtenu, 0, nbAvant);
+            interrompu.toString();
+            interrompu.piocherCodes(obtenu, nbAvant, nbCartes - nbAvant);
+            verifPioches("Mélange terminé après " + nbAvant + " cartes (graine " + graine + ")", attendu, obtenu);
+
+            // trier (une copie) ne doit changer ni les cartes ni le générateur du paquet
+            Paquet trie = new Paquet(couleurs, 3, figures, textures, nbJeux, new SplittableRandom(graine), true);
+            trie.piocherCodes(obtenu, 0, nbAvant);
+            for (MethodeTri methode : MethodeTri.values()) {
+                Paquet resultat = trie.trier(methode);
+                if (resultat.getNbCartes() != trie.getNbCartes() || !resultat.estTriee()) {
+                    throw new TestException("Le tri " + methode + " d'un paquet mélangé à la pioche n'est pas trié");
+                }
+            }
+            trie.choisirMethodeTri();
+            trie.piocherCodes(obtenu, nbAvant, nbCartes - nbAvant);
+            verifPioches("Pioche après des tris (graine " + graine + ")", attendu, obtenu);
+        }
+    }
+}
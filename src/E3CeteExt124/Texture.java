@@ -1,9 +1,9 @@
-public enum Texture {
-
-    /**
-     * Représente la texture d'une Carte : pleine , à pois...
-     */
-    PLEIN,
-    VIDE,
-    HACHURÉ;
-}
+public enum Texture {
+
+    /**
+     * Représente la texture d'une Carte : pleine , à pois...
+     */
+    PLEIN,
+    VIDE,
+    HACHURÉ;
+}
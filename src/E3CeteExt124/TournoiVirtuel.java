@@ -0,0 +1,160 @@
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * La classe TournoiVirtuel fait jouer à l'ordinateur un grand nombre de parties indépendantes en même temps,
+ * chacune dans son propre fil virtuel (Java 21), avec un temps de réflexion simulé à chaque tour (Ut.pause).
+ *
+ * Pendant une pause, un fil virtuel libère son fil porteur : quelques fils porteurs suffisent pour des
+ * dizaines de milliers de parties simultanées. Le nombre de parties en cours est borné par un sémaphore
+ * (une partie n'est lancée que lorsqu'une place est libre), ce qui borne aussi la mémoire utilisée.
+ *
+ * Chaque partie a son propre générateur, obtenu par SplittableRandom.split dans l'ordre des parties :
+ * le résultat d'une partie ne dépend que de la graine du tournoi et de son numéro, pas de l'ordonnancement.
+ * Les résultats sont affichés au fur et à mesure, toutes les "intervalleRapport" parties terminées.
+ *
+ * Usage : java TournoiVirtuel [nbParties] [maxSimultanees] [reflexionMs] [hauteur] [largeur] [graine]
+ * (par défaut 10000 10000 10 3 3 2023).
+ *
+ * Version de Java : 21 au minimum (Executors.newVirtualThreadPerTaskExecutor). C'est la seule classe du projet
+ * qui l'exige : les autres se compilent dès Java 17.
+ */
+public class TournoiVirtuel {
+
+    private int hauteur;
+    private int largeur;
+    private int maxSimultanees;
+    private int reflexionMs;
+    private long graine;
+
+    private AtomicLong nbParties = new AtomicLong();
+    private LongAdder nbTours = new LongAdder();
+    private LongAdder nbEchecs = new LongAdder();
+    private LongAdder scoreTotal = new LongAdder();
+    private AtomicInteger nbEnCours = new AtomicInteger();
+    private AtomicInteger maxEnCours = new AtomicInteger();
+
+    /**
+     * Pre-requis : maxSimultanees > 0, reflexionMs >= 0, hauteur x largeur >= 3
+     * Action : Prépare un tournoi sur des tables hauteur x largeur, avec au plus maxSimultanees parties en cours
+     * et une pause de reflexionMs millisecondes avant chaque tour de l'ordinateur.
+     */
+
+    public TournoiVirtuel(int hauteur, int largeur, int maxSimultanees, int reflexionMs, long graine) {
+        this.hauteur = hauteur;
+        this.largeur = largeur;
+        this.maxSimultanees = maxSimultanees;
+        this.reflexionMs = reflexionMs;
+        this.graine = graine;
+    }
+
+    /**
+     * Pre-requis : nbParties > 0, intervalleRapport > 0
+     * Action : Joue nbParties parties (une par fil virtuel) et attend qu'elles soient toutes terminées.
+     * Un rapport est affiché toutes les intervalleRapport parties terminées (les parties interrompues ne comptent
+     * pas), et à la fin.
+     * Si une partie lève une exception, elle est affichée par le fil de la partie et les autres parties continuent ;
+     * une IllegalStateException (de cause la première exception) est levée à la fin du tournoi.
+     */
+
+    public void jouer(int nbParties, int intervalleRapport) throws InterruptedException {
+        Semaphore places = new Semaphore(this.maxSimultanees);
+        SplittableRandom racine = new SplittableRandom(this.graine);
+        AtomicReference<Throwable> erreur = new AtomicReference<>();
+        long debut = System.nanoTime();
+        try (ExecutorService executeur = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int partie = 0; partie < nbParties; partie++) {
+                SplittableRandom aleatoire = racine.split();
+                places.acquire();
+                executeur.execute(() -> {
+                    long nbTerminees;
+                    try {
+                        nbTerminees = this.jouerPartie(aleatoire);
+                    } catch (RuntimeException | Error e) {
+                        // gardée pour être relancée à la fin du tournoi (les autres parties continuent)
+                        erreur.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        places.release();
+                    }
+                    if (nbTerminees > 0 && nbTerminees % intervalleRapport == 0) {
+                        System.out.println(this.rapport(debut));
+                    }
+                });
+            }
+        }
+        // la fermeture de l'exécuteur attend la fin de toutes les parties
+        System.out.println("Fin du tournoi : " + this.rapport(debut));
+        if (erreur.get() != null) {
+            throw new IllegalStateException("Au moins une partie a échoué", erreur.get());
+        }
+    }
+
+    /**
+     * Action : Joue une partie complète de l'ordinateur (sans affichage), avec une pause avant chaque tour,
+     * et ajoute ses résultats aux compteurs du tournoi.
+     * Résultat : Le nombre de parties terminées, celle-ci comprise (0 si la partie a été interrompue).
+     */
+
+    private long jouerPartie(SplittableRandom aleatoire) {
+        int enCours = this.nbEnCours.incrementAndGet();
+        this.maxEnCours.accumulateAndGet(enCours, Math::max);
+        try {
+            Jeu jeu = new Jeu(this.hauteur, this.largeur, aleatoire);
+            long tours = 0;
+            long echecs = 0;
+            while (!jeu.partieEstTerminee() && !Thread.currentThread().isInterrupted()) {
+                if (this.reflexionMs > 0) {
+                    Ut.pause(this.reflexionMs);
+                }
+                if (!jeu.jouerTourOrdinateurSansAffichage()) {
+                    echecs++;
+                }
+                tours++;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return 0;
+            }
+            this.nbTours.add(tours);
+            this.nbEchecs.add(echecs);
+            this.scoreTotal.add(jeu.getScore());
+            return this.nbParties.incrementAndGet();
+        } finally {
+            this.nbEnCours.decrementAndGet();
+        }
+    }
+
+    /**
+     * Résultat : Une ligne résumant les parties terminées jusqu'ici.
+     */
+
+    private String rapport(long debut) {
+        long parties = this.nbParties.get();
+        long tours = this.nbTours.sum();
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        return String.format(Locale.ROOT, "%d parties terminées en %.1f s (%.0f parties/s), %d en cours (max %d), "
+                        + "%.2f tours/partie, score moyen %.3f, taux d'échec %.5f",
+                parties, secondes, parties / secondes, this.nbEnCours.get(), this.maxEnCours.get(),
+                parties == 0 ? 0 : (double) tours / parties,
+                parties == 0 ? 0 : (double) this.scoreTotal.sum() / parties,
+                tours == 0 ? 0 : (double) this.nbEchecs.sum() / tours);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int nbParties = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int maxSimultanees = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int reflexionMs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int hauteur = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        int largeur = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        long graine = args.length > 5 ? Long.parseLong(args[5]) : 2023;
+        TournoiVirtuel tournoi = new TournoiVirtuel(hauteur, largeur, maxSimultanees, reflexionMs, graine);
+        tournoi.jouer(nbParties, Math.max(1, nbParties / 10));
+    }
+}
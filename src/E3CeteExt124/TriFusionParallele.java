@@ -0,0 +1,131 @@
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * La classe TriFusionParallele trie une partie d'un tableau de cartes par un tri fusion
+ * dont les moitiés sont triées en parallèle grâce au framework fork/join.
+ *
+ * - Les parties de moins de SEUIL_INSERTION cartes sont triées par insertion.
+ * - Les parties de moins de SEUIL_PARALLELE cartes sont triées par fusion sans créer de nouvelle tâche.
+ * Le tri est stable et fonctionne avec n'importe quel comparateur de cartes.
+ */
+public class TriFusionParallele extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int SEUIL_INSERTION = 32;
+    private static final int SEUIL_PARALLELE = 8192;
+
+    // une tâche n'est jamais sérialisée : les cartes et le comparateur, qui ne sont pas sérialisables, sont transient
+    private transient Carte[] cartes;
+    private transient Carte[] tampon;
+    private int debut;
+    private int fin;
+    private transient Comparator<Carte> comparateur;
+    // nombre de déplacements de cartes (null si on ne compte pas)
+    private LongAdder deplacements;
+
+    private TriFusionParallele(Carte[] cartes, Carte[] tampon, int debut, int fin, Comparator<Carte> comparateur,
+                               LongAdder deplacements) {
+        this.cartes = cartes;
+        this.tampon = tampon;
+        this.debut = debut;
+        this.fin = fin;
+        this.comparateur = comparateur;
+        this.deplacements = deplacements;
+    }
+
+    /**
+     * Pre-requis : 0 <= debut <= fin <= cartes.length
+     * Action : Trie les cartes d'indices debut (inclus) à fin (exclus) selon le comparateur,
+     * dans le pool fork/join commun. Les petites parties sont triées directement dans le fil courant.
+     * Si deplacements n'est pas null, on y ajoute le nombre d'écritures de cartes effectuées.
+     */
+
+    public static void trier(Carte[] cartes, int debut, int fin, Comparator<Carte> comparateur, LongAdder deplacements) {
+        TriFusionParallele tache = new TriFusionParallele(cartes, new Carte[cartes.length], debut, fin, comparateur,
+                deplacements);
+        if (fin - debut < SEUIL_PARALLELE) {
+            tache.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(tache);
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (this.fin - this.debut < SEUIL_PARALLELE) {
+            this.trierSequentiellement(this.debut, this.fin);
+        } else {
+            int milieu = (this.debut + this.fin) >>> 1;
+            invokeAll(new TriFusionParallele(this.cartes, this.tampon, this.debut, milieu, this.comparateur,
+                                             this.deplacements),
+                      new TriFusionParallele(this.cartes, this.tampon, milieu, this.fin, this.comparateur,
+                                             this.deplacements));
+            this.fusionner(this.debut, milieu, this.fin);
+        }
+    }
+
+    /**
+     * Action : Trie les cartes d'indices debut à fin (exclus) par fusion, puis par insertion pour les petites parties.
+     */
+
+    private void trierSequentiellement(int debut, int fin) {
+        if (fin - debut < SEUIL_INSERTION) {
+            this.trierInsertion(debut, fin);
+        } else {
+            int milieu = (debut + fin) >>> 1;
+            this.trierSequentiellement(debut, milieu);
+            this.trierSequentiellement(milieu, fin);
+            this.fusionner(debut, milieu, fin);
+        }
+    }
+
+    private void trierInsertion(int debut, int fin) {
+        for (int i = debut + 1; i < fin; i++) {
+            Carte carteActuelle = this.cartes[i];
+            int j = i - 1;
+            while (j >= debut && this.comparateur.compare(this.cartes[j], carteActuelle) > 0) {
+                this.cartes[j + 1] = this.cartes[j];
+                j--;
+            }
+            this.cartes[j + 1] = carteActuelle;
+            if (this.deplacements != null) {
+                this.deplacements.add(i - j);
+            }
+        }
+    }
+
+    /**
+     * Pre-requis : les parties [debut, milieu[ et [milieu, fin[ sont triées.
+     * Action : Fusionne les deux parties pour que [debut, fin[ soit triée.
+     */
+
+    private void fusionner(int debut, int milieu, int fin) {
+        if (this.comparateur.compare(this.cartes[milieu - 1], this.cartes[milieu]) <= 0) {
+            return;
+        }
+        System.arraycopy(this.cartes, debut, this.tampon, debut, fin - debut);
+        if (this.deplacements != null) {
+            this.deplacements.add(2L * (fin - debut));
+        }
+        int i = debut;
+        int j = milieu;
+        int k = debut;
+        while (i < milieu && j < fin) {
+            if (this.comparateur.compare(this.tampon[j], this.tampon[i]) < 0) {
+                this.cartes[k++] = this.tampon[j++];
+            } else {
+                this.cartes[k++] = this.tampon[i++];
+            }
+        }
+        while (i < milieu) {
+            this.cartes[k++] = this.tampon[i++];
+        }
+        while (j < fin) {
+            this.cartes[k++] = this.tampon[j++];
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import java.util.stream.IntStream;
+
+/**
+ * La classe ValidationE3C vérifie en masse des triplets de cartes donnés par leurs codes (voir Carte.getCode),
+ * par exemple pour contrôler a posteriori les E3C annoncés pendant des parties.
+ *
+ * Le résultat est un tableau de bits : le bit (i % 64) du mot resultat[i / 64] vaut 1 si le triplet i est un E3C.
+ * Chaque triplet est testé avec la même règle que Jeu.estUnE3C(int,int,int), sans créer de Carte ni de tableau.
+ * La boucle ne contient pas de branchement dépendant des données et ne fait qu'une lecture dans la table de complétion
+ * (qui tient dans le cache) par triplet : son débit est limité par la lecture des codes en mémoire.
+ */
+public class ValidationE3C {
+
+    /**
+     * Nombre de mots du résultat traités par une tâche dans validerParallele (soit 64 x 1024 triplets).
+     */
+    private static final int MOTS_PAR_TACHE = 1024;
+
+    /**
+     * Résultat : La taille du tableau résultat nécessaire pour nbTriplets triplets.
+     */
+
+    public static int getTailleResultat(int nbTriplets) {
+        return (nbTriplets + 63) >>> 6;
+    }
+
+    /**
+     * Pre-requis : codes1, codes2 et codes3 ont la même longueur n, resultat.length >= getTailleResultat(n),
+     *              tous les codes sont entre 0 et Carte.NB_CARTES-1.
+     * Action : Pour tout i, écrit dans resultat si les cartes codes1[i], codes2[i] et codes3[i] forment un E3C.
+     */
+
+    public static void valider(int[] codes1, int[] codes2, int[] codes3, long[] resultat) {
+        validerMots(codes1, codes2, codes3, resultat, 0, getTailleResultat(codes1.length));
+    }
+
+    /**
+     * Pre-requis : resultat.length >= getTailleResultat(triplets.length / 3),
+     *              tous les codes sont entre 0 et Carte.NB_CARTES-1.
+     * Action : Pour tout i, écrit dans resultat si les cartes triplets[3i], triplets[3i+1] et triplets[3i+2]
+     * forment un E3C. Si triplets.length n'est pas un multiple de 3, les un ou deux derniers codes sont ignorés.
+     */
+
+    public static void valider(int[] triplets, long[] resultat) {
+        validerMots(triplets, resultat, 0, getTailleResultat(triplets.length / 3));
+    }
+
+    /**
+     * Pre-requis : voir valider(int[], int[], int[], long[])
+     * Action : Comme valider, mais les blocs de triplets sont répartis entre les fils du pool fork/join commun.
+     * Chaque tâche écrit des mots distincts du résultat.
+     */
+
+    public static void validerParallele(int[] codes1, int[] codes2, int[] codes3, long[] resultat) {
+        int nbMots = getTailleResultat(codes1.length);
+        int nbTaches = (nbMots + MOTS_PAR_TACHE - 1) / MOTS_PAR_TACHE;
+        IntStream.range(0, nbTaches).parallel().forEach(tache -> validerMots(codes1, codes2, codes3, resultat,
+                tache * MOTS_PAR_TACHE, Math.min(nbMots, (tache + 1) * MOTS_PAR_TACHE)));
+    }
+
+    /**
+     * Pre-requis : voir valider(int[], long[])
+     * Action : Comme valider, mais les blocs de triplets sont répartis entre les fils du pool fork/join commun.
+     */
+
+    public static void validerParallele(int[] triplets, long[] resultat) {
+        int nbMots = getTailleResultat(triplets.length / 3);
+        int nbTaches = (nbMots + MOTS_PAR_TACHE - 1) / MOTS_PAR_TACHE;
+        IntStream.range(0, nbTaches).parallel().forEach(tache -> validerMots(triplets, resultat,
+                tache * MOTS_PAR_TACHE, Math.min(nbMots, (tache + 1) * MOTS_PAR_TACHE)));
+    }
+
+    /**
+     * Résultat : Le nombre de triplets valides (bits à 1) parmi les nbTriplets premiers bits de resultat.
+     */
+
+    public static long compterValides(long[] resultat, int nbTriplets) {
+        long nombre = 0;
+        int nbMots = getTailleResultat(nbTriplets);
+        for (int mot = 0; mot < nbMots; mot++) {
+            nombre += Long.bitCount(resultat[mot]);
+        }
+        return nombre;
+    }
+
+    /**
+     * Action : Calcule les mots resultat[motDebut] à resultat[motFin - 1] (triplets de codes parallèles).
+     */
+
+    private static void validerMots(int[] codes1, int[] codes2, int[] codes3, long[] resultat, int motDebut, int motFin) {
+        int n = codes1.length;
+        for (int mot = motDebut; mot < motFin; mot++) {
+            int debut = mot << 6;
+            int fin = Math.min(n, debut + 64);
+            long bits = 0;
+            for (int i = debut; i < fin; i++) {
+                long valide = Jeu.getTroisiemeCarte(codes1[i], codes2[i]) == codes3[i] ? 1L : 0L;
+                bits |= valide << i;
+            }
+            resultat[mot] = bits;
+        }
+    }
+
+    /**
+     * Action : Calcule les mots resultat[motDebut] à resultat[motFin - 1] (triplets de codes consécutifs).
+     */
+
+    private static void validerMots(int[] triplets, long[] resultat, int motDebut, int motFin) {
+        int n = triplets.length / 3;
+        for (int mot = motDebut; mot < motFin; mot++) {
+            int debut = mot << 6;
+            int fin = Math.min(n, debut + 64);
+            long bits = 0;
+            for (int i = debut; i < fin; i++) {
+                int indice = 3 * i;
+                long valide = Jeu.getTroisiemeCarte(triplets[indice], triplets[indice + 1]) == triplets[indice + 2] ? 1L : 0L;
+                bits |= valide << i;
+            }
+            resultat[mot] = bits;
+        }
+    }
+}